@@ -0,0 +1,118 @@
+package br.com.microservices.orchestrated.inventoryservice.core.engine;
+
+import br.com.microservices.orchestrated.inventoryservice.core.models.Inventory;
+import br.com.microservices.orchestrated.inventoryservice.core.repositories.InventoryRepository;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-SKU contention between the JPA engine and the in-memory engine: every thread reserves and releases one unit
+ * of the same product, which is what a flash sale on a single row looks like. Needs the inventory Postgres from
+ * docker-compose (override with -Dinventory.bench.url/user/password).
+ */
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class StockContentionBenchmark {
+
+    private static final String RESERVATION_TOPIC = "inventory-success";
+    private static final String HOT_PRODUCT = "COMIC_BOOKS";
+    private static final int BENCH_STOCK = 1_000_000;
+    private static final long FLUSH_INTERVAL_MS = 100;
+    private static final Map<String, Integer> ONE_UNIT = Map.of(HOT_PRODUCT, 1);
+
+    @Param({"jpa", "memory"})
+    private String engineType;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private StockEngine engine;
+    private ScheduledExecutorService flusher;
+    private int originalAvailable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                System.getProperty("inventory.bench.url", "jdbc:postgresql://localhost:5434/inventory-db"),
+                System.getProperty("inventory.bench.user", "postgres"),
+                System.getProperty("inventory.bench.password", "postgres")
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        originalAvailable = availableOf(HOT_PRODUCT);
+        jdbcTemplate.update("UPDATE inventory SET available = ? WHERE product_code = ?", BENCH_STOCK, HOT_PRODUCT);
+        if ("memory".equals(engineType)) {
+            var memoryEngine = new MemoryStockEngine(inventoryRepository(), jdbcTemplate, RESERVATION_TOPIC, 1);
+            memoryEngine.onPartitionsAssigned(null, List.of(new TopicPartition(RESERVATION_TOPIC, 0)));
+            flusher = Executors.newSingleThreadScheduledExecutor();
+            flusher.scheduleWithFixedDelay(memoryEngine::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            engine = memoryEngine;
+        } else {
+            engine = new JpaStockEngine(jdbcTemplate, transactionTemplate);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+            ((MemoryStockEngine) engine).flush();
+        }
+        jdbcTemplate.update("UPDATE inventory SET available = ? WHERE product_code = ?", originalAvailable, HOT_PRODUCT);
+    }
+
+    @Benchmark
+    public Map<String, Integer> reserveAndRelease() {
+        Map<String, Integer> available = transactionTemplate.execute(status -> engine.decrease(ONE_UNIT));
+        engine.increase(ONE_UNIT);
+        return available;
+    }
+
+    private int availableOf(String productCode) {
+        return jdbcTemplate.queryForObject("SELECT available FROM inventory WHERE product_code = ?", Integer.class, productCode);
+    }
+
+    private InventoryRepository inventoryRepository() {
+        return (InventoryRepository) Proxy.newProxyInstance(
+                InventoryRepository.class.getClassLoader(),
+                new Class<?>[]{InventoryRepository.class},
+                (proxy, method, args) -> {
+                    if (!"findByProductCode".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String productCode = (String) args[0];
+                    return Optional.of(Inventory.builder().productCode(productCode).available(availableOf(productCode)).build());
+                }
+        );
+    }
+}
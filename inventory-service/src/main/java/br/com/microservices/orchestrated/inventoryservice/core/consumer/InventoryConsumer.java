@@ -1,29 +1,30 @@
 package br.com.microservices.orchestrated.inventoryservice.core.consumer;
 
-import br.com.microservices.orchestrated.inventoryservice.core.dtos.Event;
 import br.com.microservices.orchestrated.inventoryservice.core.services.InventoryService;
-import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 @AllArgsConstructor
 public class InventoryConsumer {
 
     private final JsonUtil jsonUtil;
 
+    private final HopLogger hopLogger;
+
     private final InventoryService inventoryService;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.inventory-success}"
     )
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from inventory-success topic", payload);
+    public void consumeSuccessEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("inventory-success", event.getTransactionId(), payload);
         inventoryService.updateInventory(event);
     }
 
@@ -31,9 +32,9 @@ public class InventoryConsumer {
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.inventory-fail}"
     )
-    public void consumeFailEvent(String payload) {
-        log.info("Receiving rollback event {} from inventory-fail topic", payload);
+    public void consumeFailEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("inventory-fail", event.getTransactionId(), payload);
         inventoryService.rollbackInventory(event);
     }
 }
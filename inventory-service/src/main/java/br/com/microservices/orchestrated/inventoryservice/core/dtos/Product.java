@@ -1,13 +0,0 @@
-package br.com.microservices.orchestrated.inventoryservice.core.dtos;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class Product {
-    private String code;
-    private double unitValue;
-}
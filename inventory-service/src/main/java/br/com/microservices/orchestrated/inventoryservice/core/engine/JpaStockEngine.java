@@ -0,0 +1,76 @@
+package br.com.microservices.orchestrated.inventoryservice.core.engine;
+
+import br.com.microservices.orchestrated.inventoryservice.config.exceptions.ValidationException;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "inventory.engine.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaStockEngine implements StockEngine {
+
+    private static final String DECREASE_AVAILABLE =
+            "UPDATE inventory i SET available = i.available - d.quantity"
+                    + " FROM unnest(?, ?) AS d(product_code, quantity)"
+                    + " WHERE i.product_code = d.product_code AND i.available >= d.quantity"
+                    + " RETURNING i.product_code, i.available";
+    private static final String INCREASE_AVAILABLE = "UPDATE inventory SET available = available + ? WHERE product_code = ?";
+    private static final String COMPENSATE =
+            "WITH compensated AS ("
+                    + " UPDATE order_inventory SET compensated = true, updated_at = now()"
+                    + " WHERE order_id = ? AND transaction_id = ? AND NOT compensated"
+                    + " RETURNING inventory_id, order_quantity"
+                    + "), restored AS ("
+                    + " UPDATE inventory i SET available = i.available + c.quantity"
+                    + " FROM (SELECT inventory_id, SUM(order_quantity) AS quantity FROM compensated GROUP BY inventory_id) c"
+                    + " WHERE i.id = c.inventory_id"
+                    + " RETURNING i.product_code, c.quantity"
+                    + ") SELECT product_code, quantity FROM restored";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Map<String, Integer> decrease(Map<String, Integer> quantities) {
+        return transactionTemplate.execute(status -> {
+            Map<String, Integer> available = new LinkedHashMap<>(quantities.size());
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(DECREASE_AVAILABLE);
+                statement.setArray(1, connection.createArrayOf("text", quantities.keySet().toArray()));
+                statement.setArray(2, connection.createArrayOf("integer", quantities.values().toArray()));
+                return statement;
+            }, row -> {
+                available.put(row.getString("product_code"), row.getInt("available"));
+            });
+            if (available.size() < quantities.size()) {
+                throw new ValidationException("Product is out of stock!");
+            }
+            return available;
+        });
+    }
+
+    @Override
+    public void increase(Map<String, Integer> quantities) {
+        List<Object[]> rows = new ArrayList<>(quantities.size());
+        quantities.forEach((productCode, quantity) -> rows.add(new Object[]{quantity, productCode}));
+        jdbcTemplate.batchUpdate(INCREASE_AVAILABLE, rows);
+    }
+
+    @Override
+    public Map<String, Integer> compensate(String orderId, String transactionId) {
+        Map<String, Integer> restored = new LinkedHashMap<>();
+        jdbcTemplate.query(COMPENSATE, row -> {
+            restored.put(row.getString("product_code"), row.getInt("quantity"));
+        }, orderId, transactionId);
+        return restored;
+    }
+}
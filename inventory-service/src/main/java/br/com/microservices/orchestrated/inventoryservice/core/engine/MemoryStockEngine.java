@@ -0,0 +1,242 @@
+package br.com.microservices.orchestrated.inventoryservice.core.engine;
+
+import br.com.microservices.orchestrated.inventoryservice.config.exceptions.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.models.Inventory;
+import br.com.microservices.orchestrated.inventoryservice.core.repositories.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.engine.type", havingValue = "memory")
+public class MemoryStockEngine implements StockEngine, ConsumerAwareRebalanceListener {
+
+    private static final int NOT_RESERVED = -1;
+    private static final String UPDATE_AVAILABLE =
+            "UPDATE inventory SET available = available + ? WHERE product_code = ? AND available + ? >= 0";
+    private static final String CLAIM_COMPENSATION =
+            "WITH compensated AS ("
+                    + " UPDATE order_inventory SET compensated = true, updated_at = now()"
+                    + " WHERE order_id = ? AND transaction_id = ? AND NOT compensated"
+                    + " RETURNING inventory_id, order_quantity"
+                    + ") SELECT i.product_code, SUM(c.order_quantity) AS quantity"
+                    + " FROM compensated c JOIN inventory i ON i.id = c.inventory_id"
+                    + " GROUP BY i.product_code";
+
+    private final InventoryRepository inventoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String reservationTopic;
+    private final int partitionCount;
+
+    private final Map<String, AtomicInteger> stock = new ConcurrentHashMap<>();
+    private final Map<String, Integer> pendingDeltas = new ConcurrentHashMap<>();
+    private final Set<Integer> ownedPartitions = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock reservationLock = new ReentrantReadWriteLock();
+
+    private volatile boolean ownsEveryPartition;
+
+    public MemoryStockEngine(InventoryRepository inventoryRepository,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${spring.kafka.topic.inventory-success}") String reservationTopic,
+                             @Value("${spring.kafka.partition-count}") int partitionCount) {
+        this.inventoryRepository = inventoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTopic = reservationTopic;
+        this.partitionCount = partitionCount;
+    }
+
+    @Override
+    public Map<String, Integer> decrease(Map<String, Integer> quantities) {
+        Map<String, Integer> reserved = new HashMap<>(quantities.size());
+        Map<String, Integer> available = new LinkedHashMap<>(quantities.size());
+        reservationLock.readLock().lock();
+        try {
+            if (!ownsEveryPartition) {
+                throw new ValidationException("In-memory stock is only reserved while this instance owns every inventory partition!");
+            }
+            quantities.forEach((productCode, quantity) -> {
+                int remaining = tryReserve(productCode, quantity);
+                if (remaining == NOT_RESERVED) {
+                    release(reserved);
+                    throw new ValidationException("Product is out of stock!");
+                }
+                reserved.put(productCode, quantity);
+                available.put(productCode, remaining);
+            });
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+        releaseOnRollback(reserved);
+        return available;
+    }
+
+    @Override
+    public void increase(Map<String, Integer> quantities) {
+        reservationLock.readLock().lock();
+        try {
+            release(quantities);
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Integer> compensate(String orderId, String transactionId) {
+        Map<String, Integer> claimed = new HashMap<>();
+        jdbcTemplate.query(CLAIM_COMPENSATION, row -> {
+            claimed.put(row.getString("product_code"), row.getInt("quantity"));
+        }, orderId, transactionId);
+        increase(claimed);
+        return claimed;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.engine.flush-interval-ms}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (String productCode : pendingDeltas.keySet()) {
+            Integer delta = pendingDeltas.remove(productCode);
+            if (delta != null && delta != 0) {
+                batch.add(new Object[]{delta, productCode, delta});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(UPDATE_AVAILABLE, batch);
+        } catch (RuntimeException ex) {
+            log.error("Error trying to flush {} inventory deltas, keeping them for the next run", batch.size(), ex);
+            batch.forEach(row -> pendingDeltas.merge((String) row[1], (Integer) row[0], Integer::sum));
+            return;
+        }
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                String productCode = (String) batch.get(i)[1];
+                log.error("Discarding inventory delta {} for product {}, it would make the stored stock negative", batch.get(i)[0], productCode);
+                stock.remove(productCode);
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        reservationLock.writeLock().lock();
+        try {
+            flush();
+            partitions
+                    .stream()
+                    .filter(partition -> reservationTopic.equals(partition.topic()))
+                    .forEach(partition -> ownedPartitions.remove(partition.partition()));
+            updateOwnership();
+        } finally {
+            reservationLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        onPartitionsRevokedBeforeCommit(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        reservationLock.writeLock().lock();
+        try {
+            flush();
+            partitions
+                    .stream()
+                    .filter(partition -> reservationTopic.equals(partition.topic()))
+                    .forEach(partition -> ownedPartitions.add(partition.partition()));
+            updateOwnership();
+        } finally {
+            reservationLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void updateOwnership() {
+        stock.clear();
+        ownsEveryPartition = ownedPartitions.size() == partitionCount;
+        if (!ownsEveryPartition) {
+            log.warn("Instance owns inventory partitions {} of {}, refusing in-memory reservations", ownedPartitions, partitionCount);
+        }
+    }
+
+    private int tryReserve(String productCode, int quantity) {
+        AtomicInteger counter = counterOf(productCode);
+        while (true) {
+            int available = counter.get();
+            if (available < quantity) {
+                return NOT_RESERVED;
+            }
+            if (counter.compareAndSet(available, available - quantity)) {
+                pendingDeltas.merge(productCode, -quantity, Integer::sum);
+                return available - quantity;
+            }
+        }
+    }
+
+    private void release(Map<String, Integer> quantities) {
+        quantities.forEach((productCode, quantity) -> {
+            counterOf(productCode).addAndGet(quantity);
+            pendingDeltas.merge(productCode, quantity, Integer::sum);
+        });
+    }
+
+    private void releaseOnRollback(Map<String, Integer> reserved) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    increase(reserved);
+                }
+            }
+        });
+    }
+
+    private AtomicInteger counterOf(String productCode) {
+        AtomicInteger counter = stock.get(productCode);
+        if (counter != null) {
+            return counter;
+        }
+        return stock.computeIfAbsent(productCode, code -> new AtomicInteger(loadAvailable(code)));
+    }
+
+    private synchronized int loadAvailable(String productCode) {
+        int available = inventoryRepository
+                .findByProductCode(productCode)
+                .map(Inventory::getAvailable)
+                .orElseThrow(() -> new ValidationException("Inventory not found by informed product code"));
+        return available + pendingDeltas.getOrDefault(productCode, 0);
+    }
+}
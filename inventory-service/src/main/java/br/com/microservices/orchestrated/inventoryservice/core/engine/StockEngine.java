@@ -0,0 +1,12 @@
+package br.com.microservices.orchestrated.inventoryservice.core.engine;
+
+import java.util.Map;
+
+public interface StockEngine {
+
+    Map<String, Integer> decrease(Map<String, Integer> quantities);
+
+    void increase(Map<String, Integer> quantities);
+
+    Map<String, Integer> compensate(String orderId, String transactionId);
+}
@@ -13,11 +13,15 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "order_inventory")
+@Table(
+        name = "order_inventory",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_inventory_order_transaction_inventory", columnNames = {"order_id", "transaction_id", "inventory_id"})
+)
 public class OrderInventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_inventory_seq")
+    @SequenceGenerator(name = "order_inventory_seq", sequenceName = "order_inventory_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -39,6 +43,9 @@ public class OrderInventory {
     @Column(nullable = false)
     private Integer newQuantity;
 
+    @Column(nullable = false)
+    private boolean compensated;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
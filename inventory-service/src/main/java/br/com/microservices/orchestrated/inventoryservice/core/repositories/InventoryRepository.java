@@ -3,8 +3,11 @@ package br.com.microservices.orchestrated.inventoryservice.core.repositories;
 import br.com.microservices.orchestrated.inventoryservice.core.models.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
     Optional<Inventory> findByProductCode(String productCode);
+    List<Inventory> findByProductCodeIn(Collection<String> productCodes);
 }
@@ -1,93 +1,122 @@
 package br.com.microservices.orchestrated.inventoryservice.core.services;
 
 import br.com.microservices.orchestrated.inventoryservice.config.exceptions.ValidationException;
-import br.com.microservices.orchestrated.inventoryservice.core.dtos.Event;
-import br.com.microservices.orchestrated.inventoryservice.core.dtos.History;
-import br.com.microservices.orchestrated.inventoryservice.core.dtos.Order;
-import br.com.microservices.orchestrated.inventoryservice.core.dtos.OrderProducts;
-import br.com.microservices.orchestrated.inventoryservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.inventoryservice.core.engine.StockEngine;
 import br.com.microservices.orchestrated.inventoryservice.core.models.Inventory;
 import br.com.microservices.orchestrated.inventoryservice.core.models.OrderInventory;
 import br.com.microservices.orchestrated.inventoryservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.inventoryservice.core.repositories.InventoryRepository;
 import br.com.microservices.orchestrated.inventoryservice.core.repositories.OrderInventoryRepository;
-import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Order;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.OrderProducts;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.idempotency.IdempotencyCache;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @AllArgsConstructor
 public class InventoryService {
-    private static final String CURRENT_SOURCE = "INVENTORY_SERVICE";
+    private static final EEventSource CURRENT_SOURCE = EEventSource.INVENTORY_SERVICE;
+    private static final String DUPLICATED_TRANSACTION_MESSAGE = "There is another transactionID for this validation";
 
-    private final JsonUtil jsonUtil;
     private final KafkaProducer producer;
     private final InventoryRepository inventoryRepository;
     private final OrderInventoryRepository orderInventoryRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final StockEngine stockEngine;
+    private final TransactionTemplate transactionTemplate;
 
     public void updateInventory(Event event) {
         try {
             checkCurrentValidation(event);
-            createOrderInventory(event);
-            updateInventory(event.getPayload());
+            reserveStock(event);
             handleSuccess(event);
         } catch(Exception ex) {
             log.error("Error trying to update inventory: ", ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
-        producer.sendEvent(jsonUtil.toJson(event));
+        producer.sendEvent(event);
     }
 
     private void checkCurrentValidation(Event event) {
-        if (orderInventoryRepository.existsByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())) {
-            throw new ValidationException("There is another transactionID for this validation");
+        if (idempotencyCache.contains(event.getPayload().getId(), event.getTransactionId())) {
+            throw new ValidationException(DUPLICATED_TRANSACTION_MESSAGE);
         }
     }
 
-    private void createOrderInventory(Event event) {
-        event
-                .getPayload()
+    private void reserveStock(Event event) {
+        Map<String, Integer> quantities = quantitiesByProductCode(event.getPayload());
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Integer> available = stockEngine.decrease(quantities);
+            createOrderInventory(event, quantities, available);
+        });
+        idempotencyCache.record(event.getPayload().getId(), event.getTransactionId());
+    }
+
+    private Map<String, Integer> quantitiesByProductCode(Order order) {
+        return order
                 .getProducts()
-                .forEach(product -> {
-                    Inventory inventory = findInventoryByProductCode(product.getProduct().getCode());
-                    OrderInventory orderInventory = createOrderInventory(event, product, inventory);
-                    orderInventoryRepository.save(orderInventory);
-                });
+                .stream()
+                .collect(Collectors.toMap(
+                        product -> product.getProduct().getCode(),
+                        OrderProducts::getQuantity,
+                        Integer::sum,
+                        LinkedHashMap::new
+                ));
+    }
+
+    private void createOrderInventory(Event event, Map<String, Integer> quantities, Map<String, Integer> available) {
+        Map<String, Inventory> inventories = inventoryRepository
+                .findByProductCodeIn(quantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductCode, Function.identity()));
+        List<OrderInventory> orderInventories = new ArrayList<>(quantities.size());
+        quantities.forEach((productCode, quantity) -> {
+            Inventory inventory = inventories.get(productCode);
+            if (inventory == null) {
+                throw new ValidationException("Inventory not found by informed product code");
+            }
+            orderInventories.add(createOrderInventory(event, quantity, available.get(productCode), inventory));
+        });
+        saveOrderInventories(orderInventories);
+    }
+
+    private void saveOrderInventories(List<OrderInventory> orderInventories) {
+        try {
+            orderInventoryRepository.saveAllAndFlush(orderInventories);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ValidationException(DUPLICATED_TRANSACTION_MESSAGE);
+        }
     }
 
-    private OrderInventory createOrderInventory(Event event, OrderProducts orderProducts, Inventory inventory) {
+    private OrderInventory createOrderInventory(Event event, int orderQuantity, int newQuantity, Inventory inventory) {
         return OrderInventory
                 .builder()
                 .inventory(inventory)
-                .oldQuantity(inventory.getAvailable())
-                .orderQuantity(orderProducts.getQuantity())
-                .newQuantity(inventory.getAvailable() - orderProducts.getQuantity())
+                .oldQuantity(newQuantity + orderQuantity)
+                .orderQuantity(orderQuantity)
+                .newQuantity(newQuantity)
                 .orderId(event.getPayload().getId())
                 .transactionId(event.getTransactionId())
                 .build();
     }
 
-    private void updateInventory(Order order) {
-        order
-                .getProducts()
-                .forEach(product -> {
-                    Inventory inventory = findInventoryByProductCode(product.getProduct().getCode());
-                    checkInventory(inventory.getAvailable(), product.getQuantity());
-                    inventory.setAvailable(inventory.getAvailable() - product.getQuantity());
-                    inventoryRepository.save(inventory);
-                });
-    }
-
-    private void checkInventory(int available, int orderQuantity) {
-        if(orderQuantity > available) {
-            throw new ValidationException("Product is out of stock!");
-        }
-    }
-
     private void handleSuccess(Event event) {
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
@@ -105,12 +134,6 @@ public class InventoryService {
         event.addToHistory(history);
     }
 
-    private Inventory findInventoryByProductCode(String productCode) {
-        return inventoryRepository
-                .findByProductCode(productCode)
-                .orElseThrow(() -> new ValidationException("Inventory not found by informed product code"));
-    }
-
     private void handleFailCurrentNotExecuted(Event event, String message) {
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
         event.setSource(CURRENT_SOURCE);
@@ -126,17 +149,11 @@ public class InventoryService {
         } catch(Exception ex) {
             addHistory(event, "Rollback not executed for inventory : ".concat(ex.getMessage()));
         }
-        producer.sendEvent(jsonUtil.toJson(event));
+        producer.sendEvent(event);
     }
 
     private void returnInventoryToPreviousValues(Event event) {
-        orderInventoryRepository
-                .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
-                .forEach(orderInventory -> {
-                    Inventory inventory = orderInventory.getInventory();
-                    inventory.setAvailable(orderInventory.getOldQuantity());
-                    inventoryRepository.save(inventory);
-                    log.info("Restored inventory for order {} from {} to {}", event.getPayload().getId(), orderInventory.getNewQuantity(), orderInventory.getOldQuantity());
-                });
+        Map<String, Integer> restored = stockEngine.compensate(event.getPayload().getId(), event.getTransactionId());
+        log.info("Restored inventory for order {}: {}", event.getPayload().getId(), restored);
     }
 }
@@ -0,0 +1,122 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.RangeAssignor;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records drained per second by a listener container against an embedded broker as spring.kafka.listener.concurrency
+ * grows. Records are keyed by transactionId over a fixed number of partitions, consumed with the same assignor as
+ * KafkaConfig, and each one parks for a fixed time standing in for the blocking send a hop does.
+ */
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ListenerConcurrencyBenchmark.RECORDS_PER_INVOCATION)
+@State(Scope.Benchmark)
+public class ListenerConcurrencyBenchmark {
+
+    static final int RECORDS_PER_INVOCATION = 400;
+
+    private static final String TOPIC = "orchestrator";
+    private static final int PARTITION_COUNT = 4;
+    private static final long HANDLING_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final byte[] PAYLOAD = new byte[512];
+
+    @Param({"1", "2", "4"})
+    private int concurrency;
+
+    private EmbeddedKafkaBroker broker;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private ConcurrentMessageListenerContainer<String, byte[]> container;
+    private volatile CountDownLatch drained;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        broker = new EmbeddedKafkaBroker(1, false, PARTITION_COUNT, TOPIC);
+        broker.afterPropertiesSet();
+
+        var producerProps = new HashMap<String, Object>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps));
+
+        var consumerProps = new HashMap<String, Object>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, "concurrency-benchmark-" + concurrency);
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        consumerProps.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, RangeAssignor.class.getName());
+
+        var containerProperties = new ContainerProperties(TOPIC);
+        containerProperties.setMessageListener((MessageListener<String, byte[]>) this::handle);
+        container = new ConcurrentMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(consumerProps), containerProperties);
+        container.setConcurrency(concurrency);
+        container.start();
+        ContainerTestUtils.waitForAssignment(container, PARTITION_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.stop();
+        kafkaTemplate.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public long drain() throws InterruptedException {
+        var latch = new CountDownLatch(RECORDS_PER_INVOCATION);
+        drained = latch;
+        for (int index = 0; index < RECORDS_PER_INVOCATION; index++) {
+            kafkaTemplate.send(TOPIC, UUID.randomUUID().toString(), PAYLOAD);
+        }
+        kafkaTemplate.flush();
+        if (!latch.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Listener did not drain the batch, " + latch.getCount() + " records left");
+        }
+        return latch.getCount();
+    }
+
+    private void handle(ConsumerRecord<String, byte[]> record) {
+        LockSupport.parkNanos(HANDLING_NANOS);
+        drained.countDown();
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Next-topic lookup for every saga transition: the linear stream scan over SAGA_HANDLER the controller used to do
+ * against the ordinal-indexed table it compiles now. Hop logging is sampled out so only the lookup is measured.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SagaTransitionBenchmark {
+
+    private SagaExecutionController controller;
+    private Event[] events;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        controller = new SagaExecutionController(new HopLogger(0, 512));
+        events = Arrays
+                .stream(SagaHandler.SAGA_HANDLER)
+                .map(row -> Event
+                        .builder()
+                        .transactionId("benchmark")
+                        .source((EEventSource) row[SagaHandler.EVENT_SOURCE_INDEX])
+                        .status((ESagaStatus) row[SagaHandler.SAGA_STATUS_INDEX])
+                        .build())
+                .toArray(Event[]::new);
+    }
+
+    @Benchmark
+    public ETopics streamScan() {
+        Event event = nextEvent();
+        return (ETopics) (Arrays.stream(SagaHandler.SAGA_HANDLER)
+                .filter(row -> event.getSource().equals(row[SagaHandler.EVENT_SOURCE_INDEX])
+                        && event.getStatus().equals(row[SagaHandler.SAGA_STATUS_INDEX]))
+                .map(row -> row[SagaHandler.TOPIC_INDEX])
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Topic not found")));
+    }
+
+    @Benchmark
+    public ETopics transitionTable() {
+        return controller.getNextTopic(nextEvent());
+    }
+
+    private Event nextEvent() {
+        Event event = events[next];
+        next = next + 1 == events.length ? 0 : next + 1;
+        return event;
+    }
+}
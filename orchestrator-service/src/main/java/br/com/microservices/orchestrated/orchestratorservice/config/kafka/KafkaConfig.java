@@ -1,57 +1,136 @@
 package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
 
+import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.sagacommons.config.exception.SerializationException;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EProducerProfile;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.RangeAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @EnableKafka
 @Configuration
 @RequiredArgsConstructor
 public class KafkaConfig {
-    private static final Integer PARTITION_COUNT = 1;
-
     private static final Integer REPLICA_COUNT = 1;
+    private static final Integer MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION = 5;
+    private static final Long BATCH_RETRY_INTERVAL_MS = 1000L;
+    private static final Long BATCH_MAX_RETRIES = 3L;
+
+    @Value("${spring.kafka.partition-count}")
+    private Integer partitionCount;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer concurrency;
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${spring.kafka.producer.profile}")
+    private String producerProfile;
+
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${spring.kafka.consumer.max-poll-records}")
+    private Integer maxPollRecords;
+
+    @Value("${spring.kafka.topic.saga-registry}")
+    private String sagaRegistryTopic;
+
+    @Value("${spring.kafka.topic.saga-history}")
+    private String sagaHistoryTopic;
+
+    @Value("${spring.kafka.topic.saga-fork}")
+    private String sagaForkTopic;
+
+    @Value("${spring.kafka.topic.orchestrator-dlt}")
+    private String orchestratorDltTopic;
+
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerProps());
     }
 
     private Map<String, Object> consumerProps() {
         var props = new HashMap<String, Object>();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, RangeAssignor.class.getName());
 
         return props;
     }
 
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(ConsumerFactory<String, byte[]> consumerFactory,
+                                                                                                 List<ConsumerAwareRebalanceListener> rebalanceListeners) {
+        return buildListenerContainerFactory(consumerFactory, rebalanceListeners);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> batchKafkaListenerContainerFactory(ConsumerFactory<String, byte[]> consumerFactory,
+                                                                                                      List<ConsumerAwareRebalanceListener> rebalanceListeners,
+                                                                                                      KafkaTemplate<String, byte[]> kafkaTemplate) {
+        var factory = buildListenerContainerFactory(consumerFactory, rebalanceListeners);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(batchErrorHandler(kafkaTemplate));
+        return factory;
+    }
+
+    private DefaultErrorHandler batchErrorHandler(KafkaTemplate<String, byte[]> kafkaTemplate) {
+        var recoverer = new DeadLetterPublishingRecoverer(
+                kafkaTemplate,
+                (record, exception) -> new TopicPartition(orchestratorDltTopic, record.partition())
+        );
+        var errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(BATCH_RETRY_INTERVAL_MS, BATCH_MAX_RETRIES));
+        errorHandler.addNotRetryableExceptions(SerializationException.class, ValidationException.class);
+        return errorHandler;
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, byte[]> buildListenerContainerFactory(ConsumerFactory<String, byte[]> consumerFactory,
+                                                                                                  List<ConsumerAwareRebalanceListener> rebalanceListeners) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setConsumerRebalanceListener(new CompositeRebalanceListener(rebalanceListeners));
+        return factory;
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> producerFactory() {
         return new DefaultKafkaProducerFactory<>(producerProps());
     }
 
@@ -59,13 +138,17 @@ public class KafkaConfig {
         var props = new HashMap<String, Object>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION);
+        EProducerProfile.of(producerProfile).applyTo(props);
 
         return props;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+    public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
 
@@ -73,10 +156,48 @@ public class KafkaConfig {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .partitions(partitionCount)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
+    public NewTopic sagaRegistryTopic() {
+        return TopicBuilder
+                .name(sagaRegistryTopic)
+                .replicas(REPLICA_COUNT)
+                .partitions(partitionCount)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
+    public NewTopic sagaHistoryTopic() {
+        return TopicBuilder
+                .name(sagaHistoryTopic)
+                .replicas(REPLICA_COUNT)
+                .partitions(partitionCount)
+                .compact()
                 .build();
     }
 
+    @Bean
+    @ConditionalOnExpression("'${saga.runtime:listener}' == 'listener' and ${saga.execution.parallel-branches:false}")
+    public NewTopic sagaForkTopic() {
+        return TopicBuilder
+                .name(sagaForkTopic)
+                .replicas(REPLICA_COUNT)
+                .partitions(partitionCount)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    public NewTopic orchestratorDltTopic() {
+        return buildTopics(orchestratorDltTopic);
+    }
+
     @Bean
     public NewTopic startSagaTopic() {
         return buildTopics(ETopics.START_SAGA.getTopic());
@@ -0,0 +1,107 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.history.SagaHistoryStore;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
+import br.com.microservices.orchestrated.orchestratorservice.core.streams.SagaStreamsTopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.streams.SagaStreamsTopology;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+@EnableKafkaStreams
+@Configuration
+@ConditionalOnProperty(name = "saga.runtime", havingValue = "streams")
+public class KafkaStreamsConfig {
+
+    private static final String COMPACT_HISTORY_MODE = "compact";
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${spring.kafka.streams.application-id}")
+    private String applicationId;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer concurrency;
+
+    @Value("${spring.kafka.topic.start-saga}")
+    private String startSagaTopic;
+
+    @Value("${spring.kafka.topic.orchestrator}")
+    private String orchestratorTopic;
+
+    @Value("${spring.kafka.topic.finish-success}")
+    private String finishSuccessTopic;
+
+    @Value("${spring.kafka.topic.finish-fail}")
+    private String finishFailTopic;
+
+    @Value("${spring.kafka.topic.orchestrator-dlt}")
+    private String orchestratorDltTopic;
+
+    @Value("${saga.history.mode}")
+    private String historyMode;
+
+    @Value("${saga.execution.parallel-branches}")
+    private boolean parallelBranches;
+
+    @Value("${saga.timeout.enabled}")
+    private boolean timeoutEnabled;
+
+    @PostConstruct
+    public void rejectUnsupportedOptions() {
+        List<String> unsupported = new ArrayList<>();
+        if (COMPACT_HISTORY_MODE.equalsIgnoreCase(historyMode)) {
+            unsupported.add("saga.history.mode=compact");
+        }
+        if (parallelBranches) {
+            unsupported.add("saga.execution.parallel-branches=true");
+        }
+        if (timeoutEnabled) {
+            unsupported.add("saga.timeout.enabled=true");
+        }
+        if (!unsupported.isEmpty()) {
+            throw new IllegalStateException("saga.runtime=streams does not support ".concat(String.join(", ", unsupported)));
+        }
+    }
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfig() {
+        var props = new HashMap<String, Object>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, concurrency);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.ByteArraySerde.class);
+
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    @Bean
+    public SagaStreamsTopology sagaStreamsTopology(JsonUtil jsonUtil,
+                                                   SagaExecutionController sagaExecutionController,
+                                                   SagaHistoryStore sagaHistoryStore) {
+        var topics = new SagaStreamsTopics(startSagaTopic, orchestratorTopic, finishSuccessTopic, finishFailTopic, orchestratorDltTopic);
+        return new SagaStreamsTopology(jsonUtil, sagaExecutionController, sagaHistoryStore, topics);
+    }
+
+    @Bean
+    public KStream<String, byte[]> sagaStream(StreamsBuilder streamsBuilder, SagaStreamsTopology sagaStreamsTopology) {
+        return sagaStreamsTopology.build(streamsBuilder);
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.consumer;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.producer.SagaOrchestratorProducer;
+import br.com.microservices.orchestrated.orchestratorservice.core.services.OrchestratorService;
+import br.com.microservices.orchestrated.sagacommons.config.exception.SerializationException;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.SagaRouting;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.utils.SagaHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@ConditionalOnExpression("'${saga.runtime:listener}' == 'listener' and ${saga.consumer.batch-enabled:false}")
+public class SagaOrchestratorBatchConsumer {
+
+    private final JsonUtil jsonUtil;
+
+    private final HopLogger hopLogger;
+
+    private final SagaOrchestratorProducer sagaOrchestratorProducer;
+
+    private final OrchestratorService orchestratorService;
+
+    private final String orchestratorTopic;
+
+    private final Map<String, Consumer<Event>> routes = new HashMap<>();
+
+    public SagaOrchestratorBatchConsumer(JsonUtil jsonUtil,
+                                         HopLogger hopLogger,
+                                         SagaOrchestratorProducer sagaOrchestratorProducer,
+                                         OrchestratorService orchestratorService,
+                                         @Value("${spring.kafka.topic.start-saga}") String startSagaTopic,
+                                         @Value("${spring.kafka.topic.orchestrator}") String orchestratorTopic,
+                                         @Value("${spring.kafka.topic.finish-success}") String finishSuccessTopic,
+                                         @Value("${spring.kafka.topic.finish-fail}") String finishFailTopic) {
+        this.jsonUtil = jsonUtil;
+        this.hopLogger = hopLogger;
+        this.sagaOrchestratorProducer = sagaOrchestratorProducer;
+        this.orchestratorService = orchestratorService;
+        this.orchestratorTopic = orchestratorTopic;
+        routes.put(startSagaTopic, orchestratorService::startSaga);
+        routes.put(orchestratorTopic, orchestratorService::continueSaga);
+        routes.put(finishSuccessTopic, orchestratorService::finishSagaSuccess);
+        routes.put(finishFailTopic, orchestratorService::finishSagaFail);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = {
+                    "${spring.kafka.topic.start-saga}",
+                    "${spring.kafka.topic.orchestrator}",
+                    "${spring.kafka.topic.finish-success}",
+                    "${spring.kafka.topic.finish-fail}"
+            },
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consumeBatch(List<ConsumerRecord<String, byte[]>> records) {
+        List<Runnable> tasks = new ArrayList<>(records.size());
+        for (int index = 0; index < records.size(); index++) {
+            ConsumerRecord<String, byte[]> record = records.get(index);
+            try {
+                tasks.add(toTask(record));
+            } catch (SerializationException ex) {
+                log.error("Unreadable saga event at offset {} of partition {} in topic {}", record.offset(), record.partition(), record.topic(), ex);
+                runTasks(tasks);
+                throw new BatchListenerFailedException("Unreadable saga event", ex, index);
+            }
+        }
+        runTasks(tasks);
+    }
+
+    private void runTasks(List<Runnable> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        sagaOrchestratorProducer.beginBatch();
+        try {
+            for (int index = 0; index < tasks.size(); index++) {
+                sagaOrchestratorProducer.beginRecord(index);
+                try {
+                    tasks.get(index).run();
+                } catch (RuntimeException ex) {
+                    sagaOrchestratorProducer.completeBatch();
+                    throw new BatchListenerFailedException("Unprocessable saga event", ex, index);
+                }
+            }
+            sagaOrchestratorProducer.completeBatch();
+        } finally {
+            sagaOrchestratorProducer.discardBatch();
+        }
+        log.info("Processed batch of {} saga events", tasks.size());
+    }
+
+    private Runnable toTask(ConsumerRecord<String, byte[]> record) {
+        byte[] payload = record.value();
+        SagaRouting routing = orchestratorTopic.equals(record.topic()) ? SagaHeaders.read(record.headers()) : null;
+        if (routing != null) {
+            hopLogger.logReceived(record.topic(), routing.getTransactionId(), payload);
+            return () -> orchestratorService.continueSaga(routing, payload);
+        }
+        Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived(record.topic(), record.key(), payload);
+        Consumer<Event> route = routes.get(record.topic());
+        return () -> route.accept(event);
+    }
+}
@@ -1,39 +1,67 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.consumer;
 
-import br.com.microservices.orchestrated.orchestratorservice.core.dtos.Event;
 import br.com.microservices.orchestrated.orchestratorservice.core.services.OrchestratorService;
-import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.SagaRouting;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.utils.SagaHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
-@AllArgsConstructor
+@ConditionalOnExpression("'${saga.runtime:listener}' == 'listener' and !${saga.consumer.batch-enabled:false}")
 public class SagaOrchestratorConsumer {
 
     private final JsonUtil jsonUtil;
 
+    private final HopLogger hopLogger;
+
     private final OrchestratorService orchestratorService;
 
+    private final String startSagaTopic;
+
+    public SagaOrchestratorConsumer(JsonUtil jsonUtil,
+                                    HopLogger hopLogger,
+                                    OrchestratorService orchestratorService,
+                                    @Value("${spring.kafka.topic.start-saga}") String startSagaTopic) {
+        this.jsonUtil = jsonUtil;
+        this.hopLogger = hopLogger;
+        this.orchestratorService = orchestratorService;
+        this.startSagaTopic = startSagaTopic;
+    }
+
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.start-saga}"
+            topics = {"${spring.kafka.topic.start-saga}", "${spring.kafka.topic.orchestrator}"}
     )
-    public void consumeStartSagaEvent(String payload) {
-        log.info("Receiving event {} from start-saga topic", payload);
+    public void consumeSagaStepEvent(ConsumerRecord<String, byte[]> record) {
+        if (startSagaTopic.equals(record.topic())) {
+            consumeStartSagaEvent(record.value());
+            return;
+        }
+        consumeOrchestratorEvent(record);
+    }
+
+    private void consumeStartSagaEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("start-saga", event.getTransactionId(), payload);
         orchestratorService.startSaga(event);
     }
 
-    @KafkaListener(
-            groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.orchestrator}"
-    )
-    public void consumeOrchestratorEvent(String payload) {
-        log.info("Receiving event {} from orchestrator topic", payload);
+    private void consumeOrchestratorEvent(ConsumerRecord<String, byte[]> record) {
+        byte[] payload = record.value();
+        SagaRouting routing = SagaHeaders.read(record.headers());
+        if (routing != null) {
+            hopLogger.logReceived("orchestrator", routing.getTransactionId(), payload);
+            orchestratorService.continueSaga(routing, payload);
+            return;
+        }
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("orchestrator", event.getTransactionId(), payload);
         orchestratorService.continueSaga(event);
     }
 
@@ -41,9 +69,9 @@ public class SagaOrchestratorConsumer {
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.finish-success}"
     )
-    public void consumeFinishSuccessEvent(String payload) {
-        log.info("Receiving event {} from finish-success topic", payload);
+    public void consumeFinishSuccessEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("finish-success", event.getTransactionId(), payload);
         orchestratorService.finishSagaSuccess(event);
     }
 
@@ -51,9 +79,9 @@ public class SagaOrchestratorConsumer {
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.finish-fail}"
     )
-    public void consumeFinishFailEvent(String payload) {
-        log.info("Receiving event {} from finish-fail topic", payload);
+    public void consumeFinishFailEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("finish-fail", event.getTransactionId(), payload);
         orchestratorService.finishSagaFail(event);
 
     }
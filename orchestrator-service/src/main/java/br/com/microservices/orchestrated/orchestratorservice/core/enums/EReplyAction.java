@@ -1,7 +1,8 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.enums;
 
-public enum ESagaStatus {
-    SUCCESS,
-    ROLLBACK_PENDING,
-    FAIL
+public enum EReplyAction {
+
+    ROUTE,
+    COMPENSATE,
+    DISCARD
 }
@@ -0,0 +1,109 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.history;
+
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
+public class SagaHistoryChangelog {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final String REPLAY_CLIENT_SUFFIX = "-history-replay";
+    private static final char KEY_SEPARATOR = '#';
+
+    private final SagaProducerPipeline producerPipeline;
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final JsonUtil jsonUtil;
+    private final String changelogTopic;
+
+    public SagaHistoryChangelog(SagaProducerPipeline producerPipeline,
+                                ConsumerFactory<String, byte[]> consumerFactory,
+                                JsonUtil jsonUtil,
+                                @Value("${spring.kafka.topic.saga-history}") String changelogTopic) {
+        this.producerPipeline = producerPipeline;
+        this.consumerFactory = consumerFactory;
+        this.jsonUtil = jsonUtil;
+        this.changelogTopic = changelogTopic;
+    }
+
+    public void append(String transactionId, int partition, int offset, List<History> entries) {
+        send(transactionId, partition, offset, jsonUtil.toBytes(entries));
+    }
+
+    public void remove(String transactionId, int partition, Collection<Integer> offsets) {
+        offsets.forEach(offset -> send(transactionId, partition, offset, null));
+    }
+
+    public void flush() {
+        producerPipeline.flush();
+    }
+
+    public void replay(Collection<Integer> partitions, SagaHistoryChangelogListener listener) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        var overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(null, null, REPLAY_CLIENT_SUFFIX, overrides)) {
+            List<TopicPartition> topicPartitions = partitions
+                    .stream()
+                    .map(partition -> new TopicPartition(changelogTopic, partition))
+                    .collect(Collectors.toList());
+            consumer.assign(topicPartitions);
+            consumer.seekToBeginning(topicPartitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(topicPartitions);
+            long replayed = 0;
+            while (!isCaughtUp(consumer, endOffsets)) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    int separator = record.key().lastIndexOf(KEY_SEPARATOR);
+                    String transactionId = record.key().substring(0, separator);
+                    if (record.value() == null) {
+                        listener.onRemoval(transactionId);
+                    } else {
+                        int offset = Integer.parseInt(record.key().substring(separator + 1));
+                        listener.onChunk(transactionId, offset, List.of(jsonUtil.toObject(record.value(), History[].class)), record.timestamp());
+                    }
+                    replayed++;
+                }
+            }
+            log.info("Replayed {} saga history changelog records from topic {} partitions {}", replayed, changelogTopic, partitions);
+        }
+    }
+
+    private void send(String transactionId, int partition, int offset, byte[] value) {
+        String key = transactionId + KEY_SEPARATOR + offset;
+        producerPipeline
+                .send(new ProducerRecord<>(changelogTopic, partition, key, value))
+                .addCallback(
+                        result -> { },
+                        exception -> log.error("Error trying to write saga history changelog for transaction {}", transactionId, exception)
+                );
+    }
+
+    private boolean isCaughtUp(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets
+                .entrySet()
+                .stream()
+                .allMatch(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+    }
+}
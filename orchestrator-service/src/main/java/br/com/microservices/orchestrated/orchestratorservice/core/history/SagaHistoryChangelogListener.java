@@ -0,0 +1,12 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.history;
+
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+
+import java.util.List;
+
+public interface SagaHistoryChangelogListener {
+
+    void onChunk(String transactionId, int offset, List<History> entries, long writtenAt);
+
+    void onRemoval(String transactionId);
+}
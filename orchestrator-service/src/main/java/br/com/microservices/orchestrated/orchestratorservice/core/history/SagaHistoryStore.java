@@ -0,0 +1,201 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.history;
+
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.SagaRouting;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@Component
+public class SagaHistoryStore implements ConsumerAwareRebalanceListener {
+
+    private static final String COMPACT_MODE = "compact";
+
+    private final boolean compact;
+    private final int maxEntries;
+    private final long retentionMillis;
+    private final int partitionCount;
+    private final String replyTopic;
+    private final SagaHistoryChangelog changelog;
+    private final Map<String, SagaHistory> histories = new ConcurrentHashMap<>();
+
+    public SagaHistoryStore(@Value("${saga.history.mode}") String mode,
+                            @Value("${saga.history.max-entries}") int maxEntries,
+                            @Value("${saga.history.retention-ms}") long retentionMillis,
+                            @Value("${spring.kafka.partition-count}") int partitionCount,
+                            @Value("${spring.kafka.topic.orchestrator}") String replyTopic,
+                            @Nullable SagaHistoryChangelog changelog) {
+        this.compact = COMPACT_MODE.equalsIgnoreCase(mode);
+        this.maxEntries = maxEntries;
+        this.retentionMillis = retentionMillis;
+        this.partitionCount = partitionCount;
+        this.replyTopic = replyTopic;
+        this.changelog = changelog;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public boolean canForwardUntouched(SagaRouting routing) {
+        return !compact
+                && routing.getHistorySize() != SagaRouting.UNKNOWN_HISTORY_SIZE
+                && routing.getHistorySize() <= maxEntries;
+    }
+
+    public void absorb(Event event) {
+        if (!compact || isEmpty(event.getEventHistory())) {
+            return;
+        }
+        List<History> entries = event.getEventHistory();
+        histories.compute(event.getTransactionId(), (transactionId, history) -> {
+            SagaHistory merged = history == null ? new SagaHistory() : history;
+            changelog.append(transactionId, replyPartitionOf(transactionId), merged.entries.size(), entries);
+            merged.append(merged.entries.size(), entries, System.currentTimeMillis());
+            return merged;
+        });
+        event.setEventHistory(null);
+    }
+
+    public void prepareOutbound(Event event) {
+        if (compact) {
+            absorb(event);
+            return;
+        }
+        trimOutbound(event);
+    }
+
+    /**
+     * Keeps only the newest max-entries history entries on an event forwarded in full mode. Whatever is dropped here
+     * never reaches order-service, which persists the history it gets on notify-ending; compact mode keeps all of it.
+     */
+    public void trimOutbound(Event event) {
+        List<History> history = event.getEventHistory();
+        if (history != null && history.size() > maxEntries) {
+            int dropped = history.size() - maxEntries;
+            history.subList(0, dropped).clear();
+            log.warn("Dropped {} oldest history entries of transaction {} over saga.history.max-entries={}",
+                    dropped, event.getTransactionId(), maxEntries);
+        }
+    }
+
+    public void restore(Event event) {
+        if (!compact) {
+            return;
+        }
+        SagaHistory stored = histories.remove(event.getTransactionId());
+        List<History> history = new ArrayList<>();
+        if (stored != null) {
+            history.addAll(stored.entries);
+            changelog.remove(event.getTransactionId(), replyPartitionOf(event.getTransactionId()), stored.offsets);
+        }
+        if (!isEmpty(event.getEventHistory())) {
+            history.addAll(event.getEventHistory());
+        }
+        event.setEventHistory(history);
+    }
+
+    @Scheduled(fixedDelayString = "${saga.history.sweep-interval-ms}")
+    public void evictExpired() {
+        if (!compact) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - retentionMillis;
+        for (String transactionId : histories.keySet()) {
+            histories.computeIfPresent(transactionId, (key, history) -> {
+                if (history.updatedAt >= expiredBefore) {
+                    return history;
+                }
+                log.warn("Evicting history of transaction {} idle for more than {} ms", key, retentionMillis);
+                changelog.remove(key, replyPartitionOf(key), history.offsets);
+                return null;
+            });
+        }
+    }
+
+    public int size() {
+        return histories.size();
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> revoked = replyPartitionsOf(partitions);
+        if (!compact || revoked.isEmpty()) {
+            return;
+        }
+        changelog.flush();
+        histories.keySet().removeIf(transactionId -> revoked.contains(replyPartitionOf(transactionId)));
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        onPartitionsRevokedBeforeCommit(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!compact) {
+            return;
+        }
+        changelog.replay(replyPartitionsOf(partitions), new SagaHistoryChangelogListener() {
+            @Override
+            public void onChunk(String transactionId, int offset, List<History> entries, long writtenAt) {
+                histories
+                        .computeIfAbsent(transactionId, key -> new SagaHistory())
+                        .append(offset, entries, writtenAt);
+            }
+
+            @Override
+            public void onRemoval(String transactionId) {
+                histories.remove(transactionId);
+            }
+        });
+    }
+
+    private Set<Integer> replyPartitionsOf(Collection<TopicPartition> partitions) {
+        return partitions
+                .stream()
+                .filter(partition -> replyTopic.equals(partition.topic()))
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+    }
+
+    private int replyPartitionOf(String transactionId) {
+        return Utils.toPositive(Utils.murmur2(transactionId.getBytes(StandardCharsets.UTF_8))) % partitionCount;
+    }
+
+    private static final class SagaHistory {
+
+        private final List<History> entries = new ArrayList<>();
+        private final List<Integer> offsets = new ArrayList<>();
+        private long updatedAt;
+
+        private void append(int offset, List<History> chunk, long appendedAt) {
+            if (offset < entries.size()) {
+                return;
+            }
+            offsets.add(offset);
+            entries.addAll(chunk);
+            updatedAt = appendedAt;
+        }
+    }
+}
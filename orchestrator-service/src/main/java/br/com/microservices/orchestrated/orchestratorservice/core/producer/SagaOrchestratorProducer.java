@@ -1,24 +1,84 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.producer;
 
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
 import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-@Slf4j
 @Component
+@ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
 @AllArgsConstructor
 public class SagaOrchestratorProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
-
-    public void sendEvent(String payload, String topic) {
-        try {
-            log.info("Sending event to topic {} with data {}", topic, payload);
-            kafkaTemplate.send(topic, payload);
-        } catch (Exception exception) {
-            log.error("Error trying to send data to topic {} with data {}", topic, payload);
+    private static final long BATCH_ACK_TIMEOUT_SECONDS = 30;
+
+    private final SagaProducerPipeline producerPipeline;
+
+    private final HopLogger hopLogger;
+
+    private final ThreadLocal<BatchSends> batch = new ThreadLocal<>();
+
+    public void sendEvent(byte[] payload, String topic, String transactionId) {
+        hopLogger.logSending(topic, transactionId, payload);
+        var future = producerPipeline.send(new ProducerRecord<>(topic, transactionId, payload));
+        future.addCallback(
+                result -> { },
+                exception -> hopLogger.logSendError(topic, transactionId, payload, exception)
+        );
+        var pending = batch.get();
+        if (pending != null) {
+            pending.futures.add(future);
+            pending.records.add(pending.record);
+        }
+    }
+
+    public void beginBatch() {
+        batch.set(new BatchSends());
+    }
+
+    public void beginRecord(int index) {
+        var pending = batch.get();
+        if (pending != null) {
+            pending.record = index;
         }
     }
+
+    public void completeBatch() {
+        var pending = batch.get();
+        batch.remove();
+        if (pending == null || pending.futures.isEmpty()) {
+            return;
+        }
+        producerPipeline.flush();
+        for (int index = 0; index < pending.futures.size(); index++) {
+            int record = pending.records.get(index);
+            try {
+                pending.futures.get(index).get(BATCH_ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new BatchListenerFailedException("Interrupted while waiting for batch sends to be acknowledged", exception, record);
+            } catch (Exception exception) {
+                throw new BatchListenerFailedException("Error trying to acknowledge batch sends", exception, record);
+            }
+        }
+    }
+
+    public void discardBatch() {
+        batch.remove();
+    }
+
+    private static class BatchSends {
+
+        private final List<ListenableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>();
+        private final List<Integer> records = new ArrayList<>();
+        private int record;
+    }
 }
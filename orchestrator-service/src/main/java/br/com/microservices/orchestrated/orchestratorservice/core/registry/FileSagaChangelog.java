@@ -0,0 +1,103 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.registry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnExpression("'${saga.runtime:listener}' == 'listener' and '${saga.registry.changelog:kafka}' == 'file'")
+public class FileSagaChangelog implements SagaChangelog {
+
+    private static final char KEY_SEPARATOR = '=';
+    private static final String TOMBSTONE = "";
+
+    private final Path file;
+    private BufferedWriter writer;
+
+    public FileSagaChangelog(@Value("${saga.registry.changelog-file}") String file) {
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized void append(String transactionId, String step, long startedAt, long lastHopAt, int forkState) {
+        write(transactionId, SagaChangelogEntry.encode(step, startedAt, lastHopAt, forkState));
+    }
+
+    @Override
+    public synchronized void remove(String transactionId) {
+        write(transactionId, TOMBSTONE);
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * The file is local to this instance and not partitioned, so every record is replayed and the listener keeps
+     * the transactions of the requested partitions.
+     */
+    @Override
+    public void replay(SagaChangelogListener listener, Collection<Integer> partitions) {
+        List<String> lines = readLines();
+        for (String line : lines) {
+            int separator = line.indexOf(KEY_SEPARATOR);
+            String value = line.substring(separator + 1);
+            SagaChangelogEntry.decode(line.substring(0, separator), TOMBSTONE.equals(value) ? null : value, listener);
+        }
+        log.info("Replayed {} saga registry changelog records from file {}", lines.size(), file);
+    }
+
+    private synchronized List<String> readLines() {
+        flush();
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void write(String transactionId, String value) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(transactionId);
+            writer.write(KEY_SEPARATOR);
+            writer.write(value);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
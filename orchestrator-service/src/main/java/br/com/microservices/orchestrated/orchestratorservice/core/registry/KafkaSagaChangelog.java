@@ -0,0 +1,109 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.registry;
+
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnExpression("'${saga.runtime:listener}' == 'listener' and '${saga.registry.changelog:kafka}' == 'kafka'")
+public class KafkaSagaChangelog implements SagaChangelog {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final String REPLAY_CLIENT_SUFFIX = "-registry-replay";
+
+    private final SagaProducerPipeline producerPipeline;
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final String changelogTopic;
+    private final long replayTimeoutMs;
+
+    public KafkaSagaChangelog(SagaProducerPipeline producerPipeline,
+                              ConsumerFactory<String, byte[]> consumerFactory,
+                              @Value("${spring.kafka.topic.saga-registry}") String changelogTopic,
+                              @Value("${saga.registry.replay-timeout-ms}") long replayTimeoutMs) {
+        this.producerPipeline = producerPipeline;
+        this.consumerFactory = consumerFactory;
+        this.changelogTopic = changelogTopic;
+        this.replayTimeoutMs = replayTimeoutMs;
+    }
+
+    @Override
+    public void append(String transactionId, String step, long startedAt, long lastHopAt, int forkState) {
+        send(transactionId, SagaChangelogEntry.encode(step, startedAt, lastHopAt, forkState).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void remove(String transactionId) {
+        send(transactionId, null);
+    }
+
+    @Override
+    public void flush() {
+        producerPipeline.flush();
+    }
+
+    @Override
+    public void replay(SagaChangelogListener listener, Collection<Integer> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        var overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(null, null, REPLAY_CLIENT_SUFFIX, overrides)) {
+            List<TopicPartition> topicPartitions = partitions
+                    .stream()
+                    .map(partition -> new TopicPartition(changelogTopic, partition))
+                    .collect(Collectors.toList());
+            consumer.assign(topicPartitions);
+            consumer.seekToBeginning(topicPartitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(topicPartitions);
+            long deadline = System.currentTimeMillis() + replayTimeoutMs;
+            long replayed = 0;
+            while (!isCaughtUp(consumer, endOffsets)) {
+                if (System.currentTimeMillis() > deadline) {
+                    log.error("Saga registry replay of topic {} partitions {} timed out after {} records, continuing with a partial registry",
+                            changelogTopic, partitions, replayed);
+                    return;
+                }
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    SagaChangelogEntry.decode(record.key(), record.value() == null ? null : new String(record.value(), StandardCharsets.UTF_8), listener);
+                    replayed++;
+                }
+            }
+            log.info("Replayed {} saga registry changelog records from topic {} partitions {}", replayed, changelogTopic, partitions);
+        }
+    }
+
+    private void send(String transactionId, byte[] value) {
+        producerPipeline
+                .send(new ProducerRecord<>(changelogTopic, transactionId, value))
+                .addCallback(
+                        result -> { },
+                        exception -> log.error("Error trying to write saga registry changelog for transaction {}", transactionId, exception)
+                );
+    }
+
+    private boolean isCaughtUp(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets
+                .entrySet()
+                .stream()
+                .allMatch(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+    }
+}
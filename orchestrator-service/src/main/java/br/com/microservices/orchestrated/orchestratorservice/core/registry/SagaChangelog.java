@@ -0,0 +1,14 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.registry;
+
+import java.util.Collection;
+
+public interface SagaChangelog {
+
+    void append(String transactionId, String step, long startedAt, long lastHopAt, int forkState);
+
+    void remove(String transactionId);
+
+    void flush();
+
+    void replay(SagaChangelogListener listener, Collection<Integer> partitions);
+}
@@ -0,0 +1,44 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.registry;
+
+public final class SagaChangelogEntry {
+
+    private static final char SEPARATOR = '|';
+    private static final int NO_FORK = 0;
+
+    private SagaChangelogEntry() {
+
+    }
+
+    public static String encode(String step, long startedAt, long lastHopAt) {
+        return step + SEPARATOR + startedAt + SEPARATOR + lastHopAt;
+    }
+
+    public static String encode(String step, long startedAt, long lastHopAt, int forkState) {
+        if (forkState == NO_FORK) {
+            return encode(step, startedAt, lastHopAt);
+        }
+        return encode(step, startedAt, lastHopAt) + SEPARATOR + forkState;
+    }
+
+    public static long startedAtOf(String value) {
+        int first = value.indexOf(SEPARATOR);
+        return Long.parseLong(value.substring(first + 1, value.indexOf(SEPARATOR, first + 1)));
+    }
+
+    public static void decode(String transactionId, String value, SagaChangelogListener listener) {
+        if (value == null) {
+            listener.onRemoval(transactionId);
+            return;
+        }
+        int first = value.indexOf(SEPARATOR);
+        int second = value.indexOf(SEPARATOR, first + 1);
+        int third = value.indexOf(SEPARATOR, second + 1);
+        listener.onEntry(
+                transactionId,
+                value.substring(0, first),
+                Long.parseLong(value.substring(first + 1, second)),
+                Long.parseLong(third < 0 ? value.substring(second + 1) : value.substring(second + 1, third)),
+                third < 0 ? NO_FORK : Integer.parseInt(value.substring(third + 1))
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.registry;
+
+public interface SagaChangelogListener {
+
+    void onEntry(String transactionId, String step, long startedAt, long lastHopAt, int forkState);
+
+    void onRemoval(String transactionId);
+}
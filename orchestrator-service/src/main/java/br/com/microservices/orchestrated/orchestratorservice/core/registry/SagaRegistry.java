@@ -0,0 +1,297 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.registry;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
+public class SagaRegistry implements SagaChangelogListener, ConsumerAwareRebalanceListener {
+
+    public static final int NOT_FOUND = -1;
+    private static final int NO_FORK = 0;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final ETopics[] STEPS = ETopics.values();
+
+    private final SagaChangelog changelog;
+    private final int partitionCount;
+    private final String replyTopic;
+
+    private String[] keys;
+    private byte[] steps;
+    private long[] startedAt;
+    private long[] lastHopAt;
+    private int[] forkStates;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public SagaRegistry(SagaChangelog changelog,
+                        @Value("${saga.registry.initial-capacity}") int initialCapacity,
+                        @Value("${spring.kafka.partition-count}") int partitionCount,
+                        @Value("${spring.kafka.topic.orchestrator}") String replyTopic) {
+        this.changelog = changelog;
+        this.partitionCount = partitionCount;
+        this.replyTopic = replyTopic;
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    public void recordHop(String transactionId, ETopics step) {
+        long now = System.currentTimeMillis();
+        long sagaStartedAt;
+        int forkState;
+        synchronized (this) {
+            int slot = findSlot(transactionId);
+            if (keys[slot] == null) {
+                insert(slot, transactionId, step.ordinal(), now, now, NO_FORK);
+                slot = indexOf(transactionId);
+            } else {
+                steps[slot] = (byte) step.ordinal();
+                lastHopAt[slot] = now;
+            }
+            sagaStartedAt = startedAt[slot];
+            forkState = forkStates[slot];
+        }
+        changelog.append(transactionId, step.name(), sagaStartedAt, now, forkState);
+    }
+
+    public void recordForkState(String transactionId, int forkState) {
+        String step;
+        long sagaStartedAt;
+        long sagaLastHopAt;
+        synchronized (this) {
+            int slot = indexOf(transactionId);
+            if (slot == NOT_FOUND) {
+                long now = System.currentTimeMillis();
+                insert(findSlot(transactionId), transactionId, ETopics.START_SAGA.ordinal(), now, now, forkState);
+                slot = indexOf(transactionId);
+            }
+            forkStates[slot] = forkState;
+            step = STEPS[steps[slot]].name();
+            sagaStartedAt = startedAt[slot];
+            sagaLastHopAt = lastHopAt[slot];
+        }
+        changelog.append(transactionId, step, sagaStartedAt, sagaLastHopAt, forkState);
+    }
+
+    public synchronized int forkState(String transactionId) {
+        int slot = indexOf(transactionId);
+        return slot == NOT_FOUND ? NOT_FOUND : forkStates[slot];
+    }
+
+    public void complete(String transactionId) {
+        boolean removed;
+        synchronized (this) {
+            removed = removeKey(transactionId);
+        }
+        if (removed) {
+            changelog.remove(transactionId);
+        }
+    }
+
+    public synchronized ETopics currentStep(String transactionId) {
+        int slot = indexOf(transactionId);
+        return slot == NOT_FOUND ? null : STEPS[steps[slot]];
+    }
+
+    public synchronized long startedAt(String transactionId) {
+        int slot = indexOf(transactionId);
+        return slot == NOT_FOUND ? NOT_FOUND : startedAt[slot];
+    }
+
+    public synchronized long lastHopAt(String transactionId) {
+        int slot = indexOf(transactionId);
+        return slot == NOT_FOUND ? NOT_FOUND : lastHopAt[slot];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void onEntry(String transactionId, String step, long sagaStartedAt, long sagaLastHopAt, int forkState) {
+        int slot = findSlot(transactionId);
+        if (keys[slot] == null) {
+            insert(slot, transactionId, ETopics.valueOf(step).ordinal(), sagaStartedAt, sagaLastHopAt, forkState);
+        } else if (sagaLastHopAt >= lastHopAt[slot]) {
+            steps[slot] = (byte) ETopics.valueOf(step).ordinal();
+            lastHopAt[slot] = sagaLastHopAt;
+            forkStates[slot] = forkState;
+        }
+    }
+
+    @Override
+    public synchronized void onRemoval(String transactionId) {
+        removeKey(transactionId);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> revoked = replyPartitionsOf(partitions);
+        if (revoked.isEmpty()) {
+            return;
+        }
+        changelog.flush();
+        int dropped = dropPartitions(revoked);
+        log.info("Saga registry released {} sagas of revoked partitions {}", dropped, revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        onPartitionsRevokedBeforeCommit(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> assigned = replyPartitionsOf(partitions);
+        if (assigned.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        changelog.flush();
+        changelog.replay(new SagaChangelogListener() {
+            @Override
+            public void onEntry(String transactionId, String step, long sagaStartedAt, long sagaLastHopAt, int forkState) {
+                if (assigned.contains(replyPartitionOf(transactionId))) {
+                    SagaRegistry.this.onEntry(transactionId, step, sagaStartedAt, sagaLastHopAt, forkState);
+                }
+            }
+
+            @Override
+            public void onRemoval(String transactionId) {
+                if (assigned.contains(replyPartitionOf(transactionId))) {
+                    SagaRegistry.this.onRemoval(transactionId);
+                }
+            }
+        }, assigned);
+        log.info("Saga registry recovered partitions {} in {} ms, {} in-flight sagas", assigned, (System.nanoTime() - start) / 1_000_000, size());
+    }
+
+    private synchronized int dropPartitions(Set<Integer> partitions) {
+        List<String> dropped = new ArrayList<>();
+        for (String key : keys) {
+            if (key != null && partitions.contains(replyPartitionOf(key))) {
+                dropped.add(key);
+            }
+        }
+        dropped.forEach(this::removeKey);
+        return dropped.size();
+    }
+
+    private Set<Integer> replyPartitionsOf(Collection<TopicPartition> partitions) {
+        return partitions
+                .stream()
+                .filter(partition -> replyTopic.equals(partition.topic()))
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+    }
+
+    private int replyPartitionOf(String transactionId) {
+        return Utils.toPositive(Utils.murmur2(transactionId.getBytes(StandardCharsets.UTF_8))) % partitionCount;
+    }
+
+    private void insert(int slot, String transactionId, int step, long sagaStartedAt, long sagaLastHopAt, int forkState) {
+        keys[slot] = transactionId;
+        steps[slot] = (byte) step;
+        startedAt[slot] = sagaStartedAt;
+        lastHopAt[slot] = sagaLastHopAt;
+        forkStates[slot] = forkState;
+        if (++size > resizeThreshold) {
+            resize();
+        }
+    }
+
+    private int indexOf(String transactionId) {
+        int slot = findSlot(transactionId);
+        return keys[slot] == null ? NOT_FOUND : slot;
+    }
+
+    private int findSlot(String transactionId) {
+        int slot = hash(transactionId) & mask;
+        while (keys[slot] != null && !keys[slot].equals(transactionId)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean removeKey(String transactionId) {
+        int slot = indexOf(transactionId);
+        if (slot == NOT_FOUND) {
+            return false;
+        }
+        keys[slot] = null;
+        size--;
+        shiftBackFrom(slot);
+        return true;
+    }
+
+    private void shiftBackFrom(int emptySlot) {
+        int slot = (emptySlot + 1) & mask;
+        while (keys[slot] != null) {
+            int home = hash(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - emptySlot) & mask)) {
+                keys[emptySlot] = keys[slot];
+                steps[emptySlot] = steps[slot];
+                startedAt[emptySlot] = startedAt[slot];
+                lastHopAt[emptySlot] = lastHopAt[slot];
+                forkStates[emptySlot] = forkStates[slot];
+                keys[slot] = null;
+                emptySlot = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        byte[] oldSteps = steps;
+        long[] oldStartedAt = startedAt;
+        long[] oldLastHopAt = lastHopAt;
+        int[] oldForkStates = forkStates;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                steps[slot] = oldSteps[i];
+                startedAt[slot] = oldStartedAt[i];
+                lastHopAt[slot] = oldLastHopAt[i];
+                forkStates[slot] = oldForkStates[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        steps = new byte[capacity];
+        startedAt = new long[capacity];
+        lastHopAt = new long[capacity];
+        forkStates = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(String transactionId) {
+        int hash = transactionId.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        return size > 0 ? size : 1 << 30;
+    }
+}
@@ -1,61 +1,104 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.saga;
 
 import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
-import br.com.microservices.orchestrated.orchestratorservice.core.dtos.Event;
-import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
-import lombok.AllArgsConstructor;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.SagaRouting;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-
-import static org.springframework.util.ObjectUtils.isEmpty;
-
 @Slf4j
 @Component
-@AllArgsConstructor
 public class SagaExecutionController {
 
+    private static final String SAGA_ID_PATTERN = "ORDER ID: {} | TRANSACTION ID {} | EVENT ID {}";
+
+    private final HopLogger hopLogger;
+
+    private final ETopics[][] transitions;
+
+    public SagaExecutionController(HopLogger hopLogger) {
+        this.hopLogger = hopLogger;
+        this.transitions = compileTransitions(SagaHandler.SAGA_HANDLER);
+    }
+
     public ETopics getNextTopic(Event event) {
-        if(isEmpty(event.getSource()) || isEmpty(event.getStatus())) {
+        if (event.getSource() == null || event.getStatus() == null) {
             throw new ValidationException("Source and status must be informed");
         }
-        ETopics topic = findTopicsBySourceAndStatus(event);
+        ETopics topic = findTopicsBySourceAndStatus(event.getSource(), event.getStatus());
         logCurrentSaga(event, topic);
         return topic;
     }
 
-    private ETopics findTopicsBySourceAndStatus(Event event) {
-        return (ETopics) (Arrays.stream(SagaHandler.SAGA_HANDLER)
-                .filter(row -> isEventSourceAndStatusValid(event, row))
-                .map(i -> i[SagaHandler.TOPIC_INDEX])
-                .findFirst()
-                .orElseThrow(() -> new ValidationException("Topic not found")));
+    public ETopics getNextTopic(SagaRouting routing) {
+        ETopics topic = findTopicsBySourceAndStatus(routing.getSource(), routing.getStatus());
+        if (log.isInfoEnabled() && hopLogger.isSampled(routing.getTransactionId())) {
+            log.info("### CURRENT SAGA: {} | {} | NEXT TOPIC {} | TRANSACTION ID {}",
+                    routing.getSource(), routing.getStatus(), topic, routing.getTransactionId());
+        }
+        return topic;
+    }
+
+    private ETopics findTopicsBySourceAndStatus(EEventSource source, ESagaStatus status) {
+        ETopics topic = transitions[source.ordinal()][status.ordinal()];
+        if (topic == null) {
+            throw new ValidationException("Topic not found");
+        }
+        return topic;
+    }
+
+    private static ETopics[][] compileTransitions(Object[][] handler) {
+        var table = new ETopics[EEventSource.values().length][ESagaStatus.values().length];
+        for (Object[] row : handler) {
+            var source = (EEventSource) row[SagaHandler.EVENT_SOURCE_INDEX];
+            var status = (ESagaStatus) row[SagaHandler.SAGA_STATUS_INDEX];
+            var topic = (ETopics) row[SagaHandler.TOPIC_INDEX];
+            if (table[source.ordinal()][status.ordinal()] != null) {
+                throw new IllegalStateException(String.format("Ambiguous saga transition for %s | %s", source, status));
+            }
+            table[source.ordinal()][status.ordinal()] = topic;
+        }
+        validateCompleteness(table);
+        return table;
     }
 
-    private boolean isEventSourceAndStatusValid(Event event, Object[] row) {
-        Object source = row[SagaHandler.EVENT_SOURCE_INDEX];
-        Object status = row[SagaHandler.SAGA_STATUS_INDEX];
-        return event.getSource().equals(source) && event.getStatus().equals(status);
+    private static void validateCompleteness(ETopics[][] table) {
+        for (EEventSource source : EEventSource.values()) {
+            for (ESagaStatus status : ESagaStatus.values()) {
+                if (isRequiredTransition(source, status) && table[source.ordinal()][status.ordinal()] == null) {
+                    throw new IllegalStateException(String.format("Missing saga transition for %s | %s", source, status));
+                }
+            }
+        }
+    }
 
+    private static boolean isRequiredTransition(EEventSource source, ESagaStatus status) {
+        return source != EEventSource.ORCHESTRATOR || status != ESagaStatus.ROLLBACK_PENDING;
     }
 
     private void logCurrentSaga(Event event, ETopics topic) {
-        String sagaId = createSagaId(event);
+        if (!log.isInfoEnabled() || !hopLogger.isSampled(event.getTransactionId())) {
+            return;
+        }
         EEventSource source = event.getSource();
+        String orderId = event.getPayload().getId();
+        String transactionId = event.getTransactionId();
+        String eventId = event.getId();
         switch(event.getStatus()) {
-            case SUCCESS : log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | {}", source, topic, sagaId);
-            case ROLLBACK_PENDING : log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | {}", source, topic, sagaId);
-            case FAIL : log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | {}", source, topic, sagaId);
-
-
-
+            case SUCCESS:
+                log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | " + SAGA_ID_PATTERN, source, topic, orderId, transactionId, eventId);
+                break;
+            case ROLLBACK_PENDING:
+                log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | " + SAGA_ID_PATTERN, source, topic, orderId, transactionId, eventId);
+                break;
+            case FAIL:
+                log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | " + SAGA_ID_PATTERN, source, topic, orderId, transactionId, eventId);
+                break;
         }
     }
 
-    private String createSagaId(Event event) {
-        return String.format("ORDER ID: %s | TRANSACTION ID %s | EVENT ID %s", event.getPayload().getId(), event.getTransactionId(), event.getId());
-    }
-
 }
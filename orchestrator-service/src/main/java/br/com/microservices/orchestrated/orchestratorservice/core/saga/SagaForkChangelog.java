@@ -0,0 +1,101 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnExpression("'${saga.runtime:listener}' == 'listener' and ${saga.execution.parallel-branches:false}")
+public class SagaForkChangelog {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final String REPLAY_CLIENT_SUFFIX = "-fork-replay";
+
+    private final SagaProducerPipeline producerPipeline;
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final JsonUtil jsonUtil;
+    private final String changelogTopic;
+
+    public SagaForkChangelog(SagaProducerPipeline producerPipeline,
+                             ConsumerFactory<String, byte[]> consumerFactory,
+                             JsonUtil jsonUtil,
+                             @Value("${spring.kafka.topic.saga-fork}") String changelogTopic) {
+        this.producerPipeline = producerPipeline;
+        this.consumerFactory = consumerFactory;
+        this.jsonUtil = jsonUtil;
+        this.changelogTopic = changelogTopic;
+    }
+
+    public void write(String transactionId, Event merged) {
+        send(transactionId, jsonUtil.toBytes(merged));
+    }
+
+    public void remove(String transactionId) {
+        send(transactionId, null);
+    }
+
+    public void flush() {
+        producerPipeline.flush();
+    }
+
+    public void replay(Collection<Integer> partitions, BiConsumer<String, Event> listener) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        var overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(null, null, REPLAY_CLIENT_SUFFIX, overrides)) {
+            List<TopicPartition> topicPartitions = partitions
+                    .stream()
+                    .map(partition -> new TopicPartition(changelogTopic, partition))
+                    .collect(Collectors.toList());
+            consumer.assign(topicPartitions);
+            consumer.seekToBeginning(topicPartitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(topicPartitions);
+            long replayed = 0;
+            while (!isCaughtUp(consumer, endOffsets)) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    listener.accept(record.key(), record.value() == null ? null : jsonUtil.toEvent(record.value()));
+                    replayed++;
+                }
+            }
+            log.info("Replayed {} saga fork changelog records from topic {} partitions {}", replayed, changelogTopic, partitions);
+        }
+    }
+
+    private void send(String transactionId, byte[] value) {
+        producerPipeline
+                .send(new ProducerRecord<>(changelogTopic, transactionId, value))
+                .addCallback(
+                        result -> { },
+                        exception -> log.error("Error trying to write saga fork changelog for transaction {}", transactionId, exception)
+                );
+    }
+
+    private boolean isCaughtUp(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets
+                .entrySet()
+                .stream()
+                .allMatch(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+    }
+}
@@ -0,0 +1,324 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.registry.SagaRegistry;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
+public class SagaForkJoinController implements ConsumerAwareRebalanceListener {
+
+    private final boolean enabled;
+
+    private final long retentionMillis;
+
+    private final int partitionCount;
+
+    private final String replyTopic;
+
+    private final SagaRegistry sagaRegistry;
+
+    private final SagaForkChangelog changelog;
+
+    private final List<ETopics> branchTopics = new ArrayList<>();
+
+    private final List<ETopics> compensationTopics = new ArrayList<>();
+
+    private final Map<EEventSource, Integer> branchIndexes = new EnumMap<>(EEventSource.class);
+
+    private final Map<String, Event> mergedEvents = new ConcurrentHashMap<>();
+
+    public SagaForkJoinController(@Value("${saga.execution.parallel-branches}") boolean enabled,
+                                  @Value("${saga.execution.fork-retention-ms}") long retentionMillis,
+                                  @Value("${spring.kafka.partition-count}") int partitionCount,
+                                  @Value("${spring.kafka.topic.orchestrator}") String replyTopic,
+                                  SagaRegistry sagaRegistry,
+                                  @Nullable SagaForkChangelog changelog) {
+        this.enabled = enabled;
+        this.retentionMillis = retentionMillis;
+        this.partitionCount = partitionCount;
+        this.replyTopic = replyTopic;
+        this.sagaRegistry = sagaRegistry;
+        this.changelog = changelog;
+        for (Object[] row : SagaHandler.PARALLEL_BRANCHES) {
+            branchIndexes.put((EEventSource) row[SagaHandler.BRANCH_SOURCE_INDEX], branchTopics.size());
+            branchTopics.add((ETopics) row[SagaHandler.BRANCH_TOPIC_INDEX]);
+            compensationTopics.add((ETopics) row[SagaHandler.BRANCH_COMPENSATION_TOPIC_INDEX]);
+        }
+    }
+
+    public boolean isForkPoint(Event event) {
+        return isForkPoint(event.getSource(), event.getStatus());
+    }
+
+    public boolean isForkPoint(EEventSource source, ESagaStatus status) {
+        return enabled
+                && SagaHandler.FORK_SOURCE == source
+                && ESagaStatus.SUCCESS == status;
+    }
+
+    public boolean isJoinBranch(Event event) {
+        return isJoinBranch(event.getSource());
+    }
+
+    public boolean isJoinBranch(EEventSource source) {
+        return enabled && branchIndexes.containsKey(source);
+    }
+
+    public List<ETopics> fork(Event event) {
+        Event merged = copyOf(event);
+        synchronized (this) {
+            mergedEvents.put(event.getTransactionId(), merged);
+            sagaRegistry.recordForkState(event.getTransactionId(), SagaForkState.forked().encode());
+        }
+        persist(event.getTransactionId(), copyOf(merged));
+        return new ArrayList<>(branchTopics);
+    }
+
+    public SagaJoin join(Event event) {
+        SagaJoin join;
+        Event snapshot;
+        synchronized (this) {
+            join = joinBranch(event);
+            snapshot = mergedEvents.containsKey(event.getTransactionId()) ? copyOf(join.getEvent()) : null;
+        }
+        persist(event.getTransactionId(), snapshot);
+        return join;
+    }
+
+    public void release(String transactionId) {
+        if (!enabled) {
+            return;
+        }
+        Event released;
+        synchronized (this) {
+            released = mergedEvents.remove(transactionId);
+        }
+        if (released != null) {
+            persist(transactionId, null);
+        }
+    }
+
+    public int size() {
+        return mergedEvents.size();
+    }
+
+    @Scheduled(fixedDelayString = "${saga.execution.fork-sweep-interval-ms}")
+    public void evictExpired() {
+        if (!enabled) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - retentionMillis;
+        for (String transactionId : mergedEvents.keySet()) {
+            long lastHopAt = sagaRegistry.lastHopAt(transactionId);
+            if (lastHopAt != SagaRegistry.NOT_FOUND && lastHopAt >= expiredBefore) {
+                continue;
+            }
+            Event evicted;
+            synchronized (this) {
+                evicted = mergedEvents.remove(transactionId);
+            }
+            if (evicted != null) {
+                log.warn("Evicting branch history of saga {}, finished or idle for more than {} ms", transactionId, retentionMillis);
+                persist(transactionId, null);
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> revoked = replyPartitionsOf(partitions);
+        if (!enabled || revoked.isEmpty()) {
+            return;
+        }
+        if (changelog != null) {
+            changelog.flush();
+        }
+        mergedEvents.keySet().removeIf(transactionId -> revoked.contains(replyPartitionOf(transactionId)));
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        onPartitionsRevokedBeforeCommit(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!enabled || changelog == null) {
+            return;
+        }
+        changelog.replay(replyPartitionsOf(partitions), (transactionId, merged) -> {
+            if (merged == null) {
+                mergedEvents.remove(transactionId);
+            } else {
+                mergedEvents.put(transactionId, merged);
+            }
+        });
+    }
+
+    private SagaJoin joinBranch(Event event) {
+        String transactionId = event.getTransactionId();
+        int storedState = sagaRegistry.forkState(transactionId);
+        if (storedState == SagaRegistry.NOT_FOUND) {
+            log.warn("Discarding branch reply from {} for finished or unknown saga {}", event.getSource(), transactionId);
+            mergedEvents.remove(transactionId);
+            return new SagaJoin(event, List.of());
+        }
+        List<ETopics> topics = new ArrayList<>();
+        SagaForkState fork;
+        if (SagaForkState.isForked(storedState)) {
+            fork = SagaForkState.decode(storedState);
+        } else {
+            log.error("Fork state lost for saga {}, compensating every parallel branch", transactionId);
+            fork = recoverLostFork(topics);
+        }
+        Event merged = merge(mergedEvents.computeIfAbsent(transactionId, id -> copyOf(event)), event);
+        int branch = branchIndexes.get(event.getSource());
+        if (fork.isJoined()) {
+            joinFinished(fork, branch, event, topics);
+        } else if (fork.isCompensating()) {
+            joinCompensation(fork, branch, event, topics);
+        } else {
+            joinExecution(fork, branch, event, topics);
+        }
+        if (fork.isCompensating() && ESagaStatus.SUCCESS == merged.getStatus()) {
+            merged.setStatus(ESagaStatus.ROLLBACK_PENDING);
+        }
+        if (fork.isJoined()) {
+            mergedEvents.remove(transactionId);
+        }
+        sagaRegistry.recordForkState(transactionId, fork.encode());
+        return new SagaJoin(merged, topics);
+    }
+
+    private void persist(String transactionId, Event merged) {
+        if (changelog == null) {
+            return;
+        }
+        if (merged == null) {
+            changelog.remove(transactionId);
+        } else {
+            changelog.write(transactionId, merged);
+        }
+    }
+
+    private Set<Integer> replyPartitionsOf(Collection<TopicPartition> partitions) {
+        return partitions
+                .stream()
+                .filter(partition -> replyTopic.equals(partition.topic()))
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+    }
+
+    private int replyPartitionOf(String transactionId) {
+        return Utils.toPositive(Utils.murmur2(transactionId.getBytes(StandardCharsets.UTF_8))) % partitionCount;
+    }
+
+    private SagaForkState recoverLostFork(List<ETopics> topics) {
+        SagaForkState fork = SagaForkState.forked();
+        fork.startCompensation();
+        for (int index = 0; index < branchTopics.size(); index++) {
+            fork.setBranch(index, SagaForkState.COMPENSATION_SENT);
+            topics.add(compensationTopics.get(index));
+        }
+        return fork;
+    }
+
+    private void joinExecution(SagaForkState fork, int branch, Event event, List<ETopics> topics) {
+        if (ESagaStatus.SUCCESS == event.getStatus()) {
+            fork.setBranch(branch, SagaForkState.SUCCEEDED);
+            if (fork.allBranches(branchTopics.size(), SagaForkState.SUCCEEDED)) {
+                fork.markJoined();
+                topics.add(SagaHandler.JOIN_SUCCESS_TOPIC);
+            }
+            return;
+        }
+        fork.startCompensation();
+        for (int index = 0; index < branchTopics.size(); index++) {
+            if (fork.branch(index) == SagaForkState.SUCCEEDED) {
+                compensate(fork, index, topics);
+            }
+        }
+        joinCompensation(fork, branch, event, topics);
+    }
+
+    private void joinCompensation(SagaForkState fork, int branch, Event event, List<ETopics> topics) {
+        if (ESagaStatus.FAIL != event.getStatus()) {
+            compensate(fork, branch, topics);
+            return;
+        }
+        fork.setBranch(branch, SagaForkState.COMPENSATED);
+        if (fork.allBranches(branchTopics.size(), SagaForkState.COMPENSATED)) {
+            fork.markJoined();
+            topics.add(SagaHandler.JOIN_COMPENSATED_TOPIC);
+        }
+    }
+
+    private void joinFinished(SagaForkState fork, int branch, Event event, List<ETopics> topics) {
+        if (fork.isCompensating() && ESagaStatus.SUCCESS == event.getStatus()) {
+            log.warn("Branch {} succeeded after saga {} was compensated, compensating it again", event.getSource(), event.getTransactionId());
+            topics.add(compensationTopics.get(branch));
+        }
+    }
+
+    private void compensate(SagaForkState fork, int branch, List<ETopics> topics) {
+        fork.setBranch(branch, SagaForkState.COMPENSATION_SENT);
+        if (!topics.contains(compensationTopics.get(branch))) {
+            topics.add(compensationTopics.get(branch));
+        }
+    }
+
+    private static Event merge(Event merged, Event event) {
+        if (!isEmpty(event.getEventHistory())) {
+            for (History history : event.getEventHistory()) {
+                if (isEmpty(merged.getEventHistory()) || !merged.getEventHistory().contains(history)) {
+                    merged.addToHistory(history);
+                }
+            }
+        }
+        merged.setPayload(event.getPayload());
+        merged.setSource(event.getSource());
+        merged.setStatus(event.getStatus());
+        return merged;
+    }
+
+    private static Event copyOf(Event event) {
+        return Event
+                .builder()
+                .id(event.getId())
+                .transactionId(event.getTransactionId())
+                .orderId(event.getOrderId())
+                .payload(event.getPayload())
+                .source(event.getSource())
+                .status(event.getStatus())
+                .eventHistory(isEmpty(event.getEventHistory()) ? null : new ArrayList<>(event.getEventHistory()))
+                .createdAt(event.getCreatedAt())
+                .build();
+    }
+}
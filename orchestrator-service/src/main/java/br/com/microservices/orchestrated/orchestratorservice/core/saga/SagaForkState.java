@@ -0,0 +1,75 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+final class SagaForkState {
+
+    static final int PENDING = 0;
+    static final int SUCCEEDED = 1;
+    static final int COMPENSATION_SENT = 2;
+    static final int COMPENSATED = 3;
+
+    private static final int FORKED = 1;
+    private static final int COMPENSATING = 1 << 1;
+    private static final int JOINED = 1 << 2;
+    private static final int BRANCH_SHIFT = 3;
+    private static final int BRANCH_BITS = 2;
+    private static final int BRANCH_MASK = (1 << BRANCH_BITS) - 1;
+
+    private int bits;
+
+    private SagaForkState(int bits) {
+        this.bits = bits;
+    }
+
+    static SagaForkState forked() {
+        return new SagaForkState(FORKED);
+    }
+
+    static SagaForkState decode(int bits) {
+        return new SagaForkState(bits);
+    }
+
+    static boolean isForked(int bits) {
+        return (bits & FORKED) != 0;
+    }
+
+    int encode() {
+        return bits;
+    }
+
+    boolean isCompensating() {
+        return (bits & COMPENSATING) != 0;
+    }
+
+    void startCompensation() {
+        bits |= COMPENSATING;
+    }
+
+    boolean isJoined() {
+        return (bits & JOINED) != 0;
+    }
+
+    void markJoined() {
+        bits |= JOINED;
+    }
+
+    int branch(int index) {
+        return (bits >>> shiftOf(index)) & BRANCH_MASK;
+    }
+
+    void setBranch(int index, int status) {
+        bits = (bits & ~(BRANCH_MASK << shiftOf(index))) | (status << shiftOf(index));
+    }
+
+    boolean allBranches(int branchCount, int status) {
+        for (int index = 0; index < branchCount; index++) {
+            if (branch(index) != status) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int shiftOf(int index) {
+        return BRANCH_SHIFT + index * BRANCH_BITS;
+    }
+}
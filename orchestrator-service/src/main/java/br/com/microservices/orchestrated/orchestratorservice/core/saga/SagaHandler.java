@@ -1,8 +1,8 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.saga;
 
-import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
-import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
 
 public final class SagaHandler {
 
@@ -32,4 +32,27 @@ public final class SagaHandler {
     public static final int SAGA_STATUS_INDEX = 1;
     public static final int TOPIC_INDEX = 2;
 
+    public static final EEventSource FORK_SOURCE = EEventSource.PRODUCT_VALIDATION_SERVICE;
+
+    public static final Object[][] PARALLEL_BRANCHES = {
+            {EEventSource.PAYMENT_SERVICE, ETopics.PAYMENT_SUCCESS, ETopics.PAYMENT_FAIL},
+            {EEventSource.INVENTORY_SERVICE, ETopics.INVENTORY_SUCCESS, ETopics.INVENTORY_FAIL},
+    };
+
+    public static final ETopics JOIN_SUCCESS_TOPIC = ETopics.FINISH_SUCCESS;
+    public static final ETopics JOIN_COMPENSATED_TOPIC = ETopics.PRODUCT_VALIDATION_FAIL;
+
+    public static final int BRANCH_SOURCE_INDEX = 0;
+    public static final int BRANCH_TOPIC_INDEX = 1;
+    public static final int BRANCH_COMPENSATION_TOPIC_INDEX = 2;
+
+    public static final Object[][] TIMED_STEPS = {
+            {ETopics.PRODUCT_VALIDATION_SUCCESS, EEventSource.PRODUCT_VALIDATION_SERVICE},
+            {ETopics.PAYMENT_SUCCESS, EEventSource.PAYMENT_SERVICE},
+            {ETopics.INVENTORY_SUCCESS, EEventSource.INVENTORY_SERVICE},
+    };
+
+    public static final int TIMED_STEP_TOPIC_INDEX = 0;
+    public static final int TIMED_STEP_SOURCE_INDEX = 1;
+
 }
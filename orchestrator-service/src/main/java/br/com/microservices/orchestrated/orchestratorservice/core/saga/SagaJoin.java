@@ -0,0 +1,19 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SagaJoin {
+    private final Event event;
+    private final List<ETopics> topics;
+
+    public boolean isWaiting() {
+        return topics.isEmpty();
+    }
+}
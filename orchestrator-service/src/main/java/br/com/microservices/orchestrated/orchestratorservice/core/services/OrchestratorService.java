@@ -1,37 +1,56 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.services;
 
-import br.com.microservices.orchestrated.orchestratorservice.core.dtos.Event;
-import br.com.microservices.orchestrated.orchestratorservice.core.dtos.History;
-import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
-import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EReplyAction;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.history.SagaHistoryStore;
 import br.com.microservices.orchestrated.orchestratorservice.core.producer.SagaOrchestratorProducer;
+import br.com.microservices.orchestrated.orchestratorservice.core.registry.SagaRegistry;
 import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
-import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaForkJoinController;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaJoin;
+import br.com.microservices.orchestrated.orchestratorservice.core.timeout.SagaTimeout;
+import br.com.microservices.orchestrated.orchestratorservice.core.timeout.SagaTimeoutTracker;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Order;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.SagaRouting;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
 @AllArgsConstructor
 public class OrchestratorService {
 
     private final JsonUtil jsonUtil;
     private final SagaOrchestratorProducer sagaOrchestratorProducer;
     private final SagaExecutionController sagaExecutionController;
+    private final SagaForkJoinController sagaForkJoinController;
+    private final SagaRegistry sagaRegistry;
+    private final SagaTimeoutTracker sagaTimeoutTracker;
+    private final SagaHistoryStore sagaHistoryStore;
+
     public void startSaga(Event event) {
+        sagaHistoryStore.absorb(event);
         event.setSource(EEventSource.ORCHESTRATOR);
         event.setStatus(ESagaStatus.SUCCESS);
         ETopics topic = getTopic(event);
         log.info("SAGA STARTED");
         addHistory(event, "Saga started");
-        sagaOrchestratorProducer.sendEvent(jsonUtil.toJson(event), topic.getTopic());
+        dispatch(event.getTransactionId(), event.getOrderId(), toPayload(event), topic);
     }
 
     public void finishSagaSuccess(Event event) {
+        sagaHistoryStore.absorb(event);
         event.setSource(EEventSource.ORCHESTRATOR);
         event.setStatus(ESagaStatus.SUCCESS);
         log.info("SAGA FINISHED SUCCESSFULLY FOR EVENT {}", event.getId());
@@ -40,6 +59,7 @@ public class OrchestratorService {
     }
 
     public void finishSagaFail(Event event) {
+        sagaHistoryStore.absorb(event);
         event.setSource(EEventSource.ORCHESTRATOR);
         event.setStatus(ESagaStatus.FAIL);
         log.info("SAGA FINISHED WITH ERRORS FOR EVENT {}", event.getId());
@@ -48,9 +68,111 @@ public class OrchestratorService {
     }
 
     public void continueSaga(Event event) {
+        handleReply(event, sagaTimeoutTracker.acknowledge(event.getTransactionId(), event.getSource(), event.getStatus()));
+    }
+
+    public void continueSaga(SagaRouting routing, byte[] payload) {
+        EReplyAction action = sagaTimeoutTracker.acknowledge(routing.getTransactionId(), routing.getSource(), routing.getStatus());
+        if (EReplyAction.DISCARD == action) {
+            log.warn("SAGA STEP REPLY DISCARDED AFTER TIMEOUT FOR TRANSACTION {} FROM {}", routing.getTransactionId(), routing.getSource());
+            return;
+        }
+        if (EReplyAction.COMPENSATE == action || requiresBody(routing)) {
+            handleReply(jsonUtil.toEvent(payload), action);
+            return;
+        }
+        ETopics topic = sagaExecutionController.getNextTopic(routing);
+        dispatch(routing.getTransactionId(), routing.getOrderId(), payload, topic);
+    }
+
+    public void timeoutSaga(SagaTimeout timeout) {
+        Event event = Event
+                .builder()
+                .transactionId(timeout.getTransactionId())
+                .orderId(timeout.getOrderId())
+                .payload(Order.builder().id(timeout.getOrderId()).transactionId(timeout.getTransactionId()).build())
+                .source(timeout.getSource())
+                .status(ESagaStatus.ROLLBACK_PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+        log.info("SAGA STEP TIMED OUT FOR TRANSACTION {} ON {}", timeout.getTransactionId(), timeout.getSource());
+        addHistory(event, "Saga step timed out waiting for ".concat(timeout.getSource().name()));
+        routeSaga(event);
+    }
+
+    private void handleReply(Event event, EReplyAction action) {
+        switch (action) {
+            case DISCARD:
+                log.warn("SAGA STEP REPLY DISCARDED AFTER TIMEOUT FOR EVENT {} FROM {}", event.getId(), event.getSource());
+                break;
+            case COMPENSATE:
+                compensateLateReply(event);
+                break;
+            default:
+                sagaHistoryStore.absorb(event);
+                routeSaga(event);
+        }
+    }
+
+    private void compensateLateReply(Event event) {
+        event.setStatus(ESagaStatus.ROLLBACK_PENDING);
+        log.warn("SAGA STEP REPLIED SUCCESS AFTER TIMEOUT FOR EVENT {} FROM {}, COMPENSATING", event.getId(), event.getSource());
+        addHistory(event, "Saga step replied after timeout, compensating ".concat(event.getSource().name()));
+        ETopics topic = getTopic(event);
+        sagaOrchestratorProducer.sendEvent(toPayload(event), topic.getTopic(), event.getTransactionId());
+    }
+
+    private boolean requiresBody(SagaRouting routing) {
+        return !sagaHistoryStore.canForwardUntouched(routing)
+                || (routing.getOrderId() == null && sagaTimeoutTracker.isEnabled())
+                || sagaForkJoinController.isForkPoint(routing.getSource(), routing.getStatus())
+                || sagaForkJoinController.isJoinBranch(routing.getSource());
+    }
+
+    private void routeSaga(Event event) {
+        if (sagaForkJoinController.isForkPoint(event)) {
+            forkSaga(event);
+            return;
+        }
+        if (sagaForkJoinController.isJoinBranch(event)) {
+            joinSaga(event);
+            return;
+        }
         ETopics topic = getTopic(event);
         log.info("SAGA CONTINUE FOR EVENT {}", event.getId());
-        sagaOrchestratorProducer.sendEvent(jsonUtil.toJson(event), topic.getTopic());
+        dispatch(event.getTransactionId(), event.getOrderId(), toPayload(event), topic);
+    }
+
+    private void forkSaga(Event event) {
+        List<ETopics> topics = sagaForkJoinController.fork(event);
+        log.info("SAGA FORKED FOR EVENT {} TO TOPICS {}", event.getId(), topics);
+        sendToTopics(event, topics);
+    }
+
+    private void joinSaga(Event event) {
+        SagaJoin join = sagaForkJoinController.join(event);
+        if (join.isWaiting()) {
+            log.info("SAGA WAITING FOR PARALLEL BRANCHES FOR EVENT {}", event.getId());
+            return;
+        }
+        log.info("SAGA JOINED FOR EVENT {} | NEXT TOPICS {}", event.getId(), join.getTopics());
+        sendToTopics(join.getEvent(), join.getTopics());
+    }
+
+    private void sendToTopics(Event event, List<ETopics> topics) {
+        byte[] payload = toPayload(event);
+        topics.forEach(topic -> dispatch(event.getTransactionId(), event.getOrderId(), payload, topic));
+    }
+
+    private byte[] toPayload(Event event) {
+        sagaHistoryStore.prepareOutbound(event);
+        return jsonUtil.toBytes(event);
+    }
+
+    private void dispatch(String transactionId, String orderId, byte[] payload, ETopics topic) {
+        sagaRegistry.recordHop(transactionId, topic);
+        sagaTimeoutTracker.arm(transactionId, orderId, topic);
+        sagaOrchestratorProducer.sendEvent(payload, topic.getTopic(), transactionId);
     }
 
     private ETopics getTopic(Event event) {
@@ -69,6 +191,9 @@ public class OrchestratorService {
     }
 
     private void notifyEndingSaga(Event event) {
-        sagaOrchestratorProducer.sendEvent(jsonUtil.toJson(event), ETopics.NOTIFY_ENDING.getTopic());
+        sagaRegistry.complete(event.getTransactionId());
+        sagaForkJoinController.release(event.getTransactionId());
+        sagaHistoryStore.restore(event);
+        sagaOrchestratorProducer.sendEvent(jsonUtil.toBytes(event), ETopics.NOTIFY_ENDING.getTopic(), event.getTransactionId());
     }
 }
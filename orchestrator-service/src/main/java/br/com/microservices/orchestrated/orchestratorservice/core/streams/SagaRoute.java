@@ -0,0 +1,19 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.streams;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+
+@Getter
+@AllArgsConstructor
+public class SagaRoute {
+
+    public static final Serde<SagaRoute> SERDE = Serdes.serdeFrom(
+            (topic, route) -> route == null ? null : route.getPayload(),
+            (topic, data) -> data == null ? null : new SagaRoute(topic, data)
+    );
+
+    private final String topic;
+    private final byte[] payload;
+}
@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.streams;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SagaStreamsTopics {
+    private final String startSaga;
+    private final String orchestrator;
+    private final String finishSuccess;
+    private final String finishFail;
+    private final String deadLetter;
+
+    public List<String> sources() {
+        return List.of(startSaga, orchestrator, finishSuccess, finishFail);
+    }
+}
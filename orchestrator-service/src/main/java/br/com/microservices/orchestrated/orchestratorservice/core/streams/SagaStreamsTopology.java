@@ -0,0 +1,36 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.streams;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.history.SagaHistoryStore;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import lombok.AllArgsConstructor;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.state.Stores;
+
+@AllArgsConstructor
+public class SagaStreamsTopology {
+
+    public static final String SAGA_STATE_STORE = "saga-state-store";
+
+    private final JsonUtil jsonUtil;
+    private final SagaExecutionController sagaExecutionController;
+    private final SagaHistoryStore sagaHistoryStore;
+    private final SagaStreamsTopics topics;
+
+    public KStream<String, byte[]> build(StreamsBuilder builder) {
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(SAGA_STATE_STORE),
+                Serdes.String(),
+                Serdes.String()
+        ));
+        KStream<String, byte[]> events = builder.stream(topics.sources(), Consumed.with(Serdes.String(), Serdes.ByteArray()));
+        events
+                .flatTransform(() -> new SagaStreamsTransformer(jsonUtil, sagaExecutionController, sagaHistoryStore, topics), SAGA_STATE_STORE)
+                .to((key, route, recordContext) -> route.getTopic(), Produced.with(Serdes.String(), SagaRoute.SERDE));
+        return events;
+    }
+}
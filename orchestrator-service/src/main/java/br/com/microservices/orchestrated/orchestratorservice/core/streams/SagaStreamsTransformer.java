@@ -0,0 +1,134 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.streams;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.history.SagaHistoryStore;
+import br.com.microservices.orchestrated.orchestratorservice.core.registry.SagaChangelogEntry;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
+import br.com.microservices.orchestrated.sagacommons.config.exception.SerializationException;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.SagaRouting;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.utils.SagaHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+public class SagaStreamsTransformer implements Transformer<String, byte[], Iterable<KeyValue<String, SagaRoute>>> {
+
+    private final JsonUtil jsonUtil;
+    private final SagaExecutionController sagaExecutionController;
+    private final SagaHistoryStore sagaHistoryStore;
+    private final SagaStreamsTopics topics;
+
+    private ProcessorContext context;
+    private KeyValueStore<String, String> sagaStateStore;
+
+    public SagaStreamsTransformer(JsonUtil jsonUtil,
+                                  SagaExecutionController sagaExecutionController,
+                                  SagaHistoryStore sagaHistoryStore,
+                                  SagaStreamsTopics topics) {
+        this.jsonUtil = jsonUtil;
+        this.sagaExecutionController = sagaExecutionController;
+        this.sagaHistoryStore = sagaHistoryStore;
+        this.topics = topics;
+    }
+
+    @Override
+    public void init(ProcessorContext context) {
+        this.context = context;
+        this.sagaStateStore = context.getStateStore(SagaStreamsTopology.SAGA_STATE_STORE);
+    }
+
+    @Override
+    public Iterable<KeyValue<String, SagaRoute>> transform(String key, byte[] value) {
+        SagaRouting routing = topics.getOrchestrator().equals(context.topic()) ? SagaHeaders.read(context.headers()) : null;
+        SagaHeaders.clear(context.headers());
+        try {
+            return transform(routing, value);
+        } catch (SerializationException | ValidationException exception) {
+            log.error("Sending saga event from topic {} to dead letter topic {}", context.topic(), topics.getDeadLetter(), exception);
+            return route(key, value, topics.getDeadLetter());
+        }
+    }
+
+    private List<KeyValue<String, SagaRoute>> transform(SagaRouting routing, byte[] value) {
+        if (routing != null && sagaHistoryStore.canForwardUntouched(routing)) {
+            return forward(routing.getTransactionId(), value, sagaExecutionController.getNextTopic(routing));
+        }
+        Event event = jsonUtil.toEvent(value);
+        String topic = context.topic();
+        if (topics.getStartSaga().equals(topic)) {
+            return startSaga(event);
+        }
+        if (topics.getFinishSuccess().equals(topic)) {
+            return finishSaga(event, ESagaStatus.SUCCESS, "Saga finished successfully!");
+        }
+        if (topics.getFinishFail().equals(topic)) {
+            return finishSaga(event, ESagaStatus.FAIL, "Saga finished with errors!");
+        }
+        return forward(event, sagaExecutionController.getNextTopic(event));
+    }
+
+    private List<KeyValue<String, SagaRoute>> startSaga(Event event) {
+        event.setSource(EEventSource.ORCHESTRATOR);
+        event.setStatus(ESagaStatus.SUCCESS);
+        ETopics topic = sagaExecutionController.getNextTopic(event);
+        addHistory(event, "Saga started");
+        return forward(event, topic);
+    }
+
+    private List<KeyValue<String, SagaRoute>> finishSaga(Event event, ESagaStatus status, String message) {
+        event.setSource(EEventSource.ORCHESTRATOR);
+        event.setStatus(status);
+        addHistory(event, message);
+        sagaStateStore.delete(event.getTransactionId());
+        return route(event.getTransactionId(), jsonUtil.toBytes(event), ETopics.NOTIFY_ENDING);
+    }
+
+    private List<KeyValue<String, SagaRoute>> forward(Event event, ETopics topic) {
+        sagaHistoryStore.trimOutbound(event);
+        return forward(event.getTransactionId(), jsonUtil.toBytes(event), topic);
+    }
+
+    private List<KeyValue<String, SagaRoute>> forward(String transactionId, byte[] payload, ETopics topic) {
+        long now = context.currentSystemTimeMs();
+        String state = sagaStateStore.get(transactionId);
+        long startedAt = state == null ? now : SagaChangelogEntry.startedAtOf(state);
+        sagaStateStore.put(transactionId, SagaChangelogEntry.encode(topic.name(), startedAt, now));
+        return route(transactionId, payload, topic);
+    }
+
+    private List<KeyValue<String, SagaRoute>> route(String transactionId, byte[] payload, ETopics topic) {
+        return route(transactionId, payload, topic.getTopic());
+    }
+
+    private List<KeyValue<String, SagaRoute>> route(String key, byte[] payload, String topic) {
+        return List.of(KeyValue.pair(key, new SagaRoute(topic, payload)));
+    }
+
+    private void addHistory(Event event, String message) {
+        History history = History
+                .builder()
+                .source(event.getSource())
+                .status(event.getStatus())
+                .message(message)
+                .createdAt(LocalDateTime.now())
+                .build();
+        event.addToHistory(history);
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
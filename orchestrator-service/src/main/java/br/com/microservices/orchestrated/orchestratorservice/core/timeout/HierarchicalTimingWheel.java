@@ -0,0 +1,145 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import java.util.function.Consumer;
+
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final int levels;
+    private final long maxSpanTicks;
+    private final Timeout<T>[][] buckets;
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelBits, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelBits = wheelBits;
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        this.maxSpanTicks = (1L << (wheelBits * levels)) - 1;
+        this.buckets = newBuckets(levels, 1 << wheelBits);
+        for (int level = 0; level < levels; level++) {
+            for (int index = 0; index <= wheelMask; index++) {
+                buckets[level][index] = Timeout.sentinel();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        var timeout = new Timeout<T>(value, Math.max(deadlineMillis / tickMillis, currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isScheduled()) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    public void advance(long nowMillis, Consumer<T> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            expire(buckets[0][(int) (currentTick & wheelMask)], onExpired);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        if (level >= levels || indexAt(currentTick, level - 1) != 0) {
+            return;
+        }
+        cascade(level + 1);
+        Timeout<T> head = buckets[level][indexAt(currentTick, level)];
+        while (head.next != head) {
+            Timeout<T> timeout = head.next;
+            timeout.unlink();
+            place(timeout);
+        }
+    }
+
+    private void expire(Timeout<T> head, Consumer<T> onExpired) {
+        while (head.next != head) {
+            Timeout<T> timeout = head.next;
+            timeout.unlink();
+            if (timeout.deadlineTick > currentTick) {
+                place(timeout);
+                continue;
+            }
+            size--;
+            onExpired.accept(timeout.value);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long ticks = Math.min(timeout.deadlineTick - currentTick, maxSpanTicks);
+        long slotTick = currentTick + ticks;
+        int level = 0;
+        while (level < levels - 1 && ticks >= (1L << (wheelBits * (level + 1)))) {
+            level++;
+        }
+        timeout.linkBefore(buckets[level][indexAt(slotTick, level)]);
+    }
+
+    private int indexAt(long tick, int level) {
+        return (int) ((tick >>> (wheelBits * level)) & wheelMask);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Timeout<T>[][] newBuckets(int levels, int slots) {
+        return new Timeout[levels][slots];
+    }
+
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private static <T> Timeout<T> sentinel() {
+            var sentinel = new Timeout<T>(null, Long.MAX_VALUE);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+
+        private void linkBefore(Timeout<T> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SagaTimeout {
+    private final String transactionId;
+    private final String orderId;
+    private final EEventSource source;
+    private final int replyPartition;
+}
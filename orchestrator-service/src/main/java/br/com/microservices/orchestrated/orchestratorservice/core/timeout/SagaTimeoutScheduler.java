@@ -0,0 +1,30 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.services.OrchestratorService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnExpression("'${saga.runtime:listener}' == 'listener' and ${saga.timeout.enabled:false}")
+public class SagaTimeoutScheduler {
+
+    private final SagaTimeoutTracker sagaTimeoutTracker;
+
+    private final OrchestratorService orchestratorService;
+
+    @Scheduled(fixedDelayString = "${saga.timeout.tick-ms}")
+    public void expireTimeouts() {
+        for (SagaTimeout timeout : sagaTimeoutTracker.expire(System.currentTimeMillis())) {
+            try {
+                orchestratorService.timeoutSaga(timeout);
+            } catch (Exception exception) {
+                log.error("Error trying to compensate timed out saga {} on {}", timeout.getTransactionId(), timeout.getSource(), exception);
+            }
+        }
+    }
+}
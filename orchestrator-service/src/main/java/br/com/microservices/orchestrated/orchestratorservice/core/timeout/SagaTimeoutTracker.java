@@ -0,0 +1,153 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EReplyAction;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "saga.runtime", havingValue = "listener", matchIfMissing = true)
+public class SagaTimeoutTracker implements ConsumerAwareRebalanceListener {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_LEVELS = 4;
+    private static final int MAX_EXPIRED_KEYS = 100_000;
+
+    private final boolean enabled;
+    private final long stepTimeoutMillis;
+    private final int partitionCount;
+    private final String replyTopic;
+    private final HierarchicalTimingWheel<SagaTimeout> wheel;
+    private final Map<ETopics, EEventSource> timedSteps = new EnumMap<>(ETopics.class);
+    private final Map<String, HierarchicalTimingWheel.Timeout<SagaTimeout>> pending = new HashMap<>();
+    private final Map<String, Boolean> expired = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_EXPIRED_KEYS;
+        }
+    };
+
+    public SagaTimeoutTracker(@Value("${saga.timeout.enabled}") boolean enabled,
+                              @Value("${saga.timeout.step-timeout-ms}") long stepTimeoutMillis,
+                              @Value("${saga.timeout.tick-ms}") long tickMillis,
+                              @Value("${spring.kafka.partition-count}") int partitionCount,
+                              @Value("${spring.kafka.topic.orchestrator}") String replyTopic) {
+        this.enabled = enabled;
+        this.stepTimeoutMillis = stepTimeoutMillis;
+        this.partitionCount = partitionCount;
+        this.replyTopic = replyTopic;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_BITS, WHEEL_LEVELS, System.currentTimeMillis());
+        for (Object[] row : SagaHandler.TIMED_STEPS) {
+            timedSteps.put((ETopics) row[SagaHandler.TIMED_STEP_TOPIC_INDEX], (EEventSource) row[SagaHandler.TIMED_STEP_SOURCE_INDEX]);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void arm(String transactionId, String orderId, ETopics topic) {
+        EEventSource source = timedSteps.get(topic);
+        if (!enabled || source == null) {
+            return;
+        }
+        String key = keyOf(transactionId, source);
+        var timeout = new SagaTimeout(transactionId, orderId, source, replyPartitionOf(transactionId));
+        synchronized (this) {
+            var previous = pending.put(key, wheel.schedule(timeout, System.currentTimeMillis() + stepTimeoutMillis));
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+        }
+    }
+
+    public EReplyAction acknowledge(String transactionId, EEventSource source, ESagaStatus status) {
+        if (!enabled) {
+            return EReplyAction.ROUTE;
+        }
+        String key = keyOf(transactionId, source);
+        synchronized (this) {
+            var timeout = pending.remove(key);
+            if (timeout != null) {
+                wheel.cancel(timeout);
+                return EReplyAction.ROUTE;
+            }
+            Boolean failRouted = expired.get(key);
+            if (failRouted == null) {
+                return EReplyAction.ROUTE;
+            }
+            if (ESagaStatus.SUCCESS == status) {
+                return EReplyAction.COMPENSATE;
+            }
+            if (ESagaStatus.FAIL == status && !failRouted) {
+                expired.put(key, Boolean.TRUE);
+                return EReplyAction.ROUTE;
+            }
+            return EReplyAction.DISCARD;
+        }
+    }
+
+    public List<SagaTimeout> expire(long nowMillis) {
+        var timeouts = new ArrayList<SagaTimeout>();
+        synchronized (this) {
+            wheel.advance(nowMillis, timeout -> {
+                String key = keyOf(timeout.getTransactionId(), timeout.getSource());
+                pending.remove(key);
+                expired.put(key, Boolean.FALSE);
+                timeouts.add(timeout);
+            });
+        }
+        return timeouts;
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> revoked = partitions
+                .stream()
+                .filter(partition -> replyTopic.equals(partition.topic()))
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+        if (!enabled || revoked.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            pending.values().removeIf(timeout -> revoked.contains(timeout.getValue().getReplyPartition()) && wheel.cancel(timeout));
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        onPartitionsRevokedBeforeCommit(consumer, partitions);
+    }
+
+    private int replyPartitionOf(String transactionId) {
+        return Utils.toPositive(Utils.murmur2(transactionId.getBytes(StandardCharsets.UTF_8))) % partitionCount;
+    }
+
+    private String keyOf(String transactionId, EEventSource source) {
+        return transactionId.concat(source.name());
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.registry;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SagaRegistryTest {
+
+    private static final String REPLY_TOPIC = "orchestrator";
+    private static final List<TopicPartition> REPLY_PARTITIONS = List.of(new TopicPartition(REPLY_TOPIC, 0));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversInFlightSagasFromTheChangelog() throws IOException {
+        var changelog = new FileSagaChangelog(directory.resolve("registry.changelog").toString());
+        var registry = new SagaRegistry(changelog, 16, 1, REPLY_TOPIC);
+        registry.recordHop("tx-1", ETopics.PRODUCT_VALIDATION_SUCCESS);
+        registry.recordHop("tx-2", ETopics.PRODUCT_VALIDATION_SUCCESS);
+        registry.recordHop("tx-1", ETopics.PAYMENT_SUCCESS);
+        registry.complete("tx-2");
+        changelog.close();
+
+        var recovered = new SagaRegistry(new FileSagaChangelog(directory.resolve("registry.changelog").toString()), 16, 1, REPLY_TOPIC);
+        recovered.onPartitionsAssigned(null, REPLY_PARTITIONS);
+
+        assertEquals(1, recovered.size());
+        assertEquals(ETopics.PAYMENT_SUCCESS, recovered.currentStep("tx-1"));
+        assertEquals(registry.startedAt("tx-1"), recovered.startedAt("tx-1"));
+        assertNull(recovered.currentStep("tx-2"));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        var registry = new SagaRegistry(new FileSagaChangelog(directory.resolve("grow.changelog").toString()), 16, 1, REPLY_TOPIC);
+        for (int i = 0; i < 1_000; i++) {
+            registry.recordHop("tx-" + i, ETopics.INVENTORY_SUCCESS);
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            registry.complete("tx-" + i);
+        }
+
+        assertEquals(500, registry.size());
+        assertNull(registry.currentStep("tx-0"));
+        assertEquals(ETopics.INVENTORY_SUCCESS, registry.currentStep("tx-999"));
+    }
+
+    @Test
+    void keepsLiveStateNewerThanTheChangelog() {
+        var registry = new SagaRegistry(new FileSagaChangelog(directory.resolve("live.changelog").toString()), 16, 1, REPLY_TOPIC);
+        registry.recordHop("tx-1", ETopics.PAYMENT_SUCCESS);
+        long lastHopAt = registry.lastHopAt("tx-1");
+
+        registry.onEntry("tx-1", ETopics.PRODUCT_VALIDATION_SUCCESS.name(), lastHopAt - 10, lastHopAt - 1, 0);
+
+        assertEquals(ETopics.PAYMENT_SUCCESS, registry.currentStep("tx-1"));
+        assertEquals(lastHopAt, registry.lastHopAt("tx-1"));
+    }
+
+    @Test
+    void releasesSagasOfRevokedPartitions() {
+        var registry = new SagaRegistry(new FileSagaChangelog(directory.resolve("revoke.changelog").toString()), 16, 1, REPLY_TOPIC);
+        registry.recordHop("tx-1", ETopics.PAYMENT_SUCCESS);
+
+        registry.onPartitionsRevokedBeforeCommit(null, REPLY_PARTITIONS);
+
+        assertEquals(0, registry.size());
+        registry.onPartitionsAssigned(null, REPLY_PARTITIONS);
+        assertEquals(ETopics.PAYMENT_SUCCESS, registry.currentStep("tx-1"));
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.registry.FileSagaChangelog;
+import br.com.microservices.orchestrated.orchestratorservice.core.registry.SagaRegistry;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SagaForkJoinControllerTest {
+
+    private static final String REPLY_TOPIC = "orchestrator";
+    private static final long FORK_RETENTION_MS = 3_600_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void joinsWhenEveryBranchSucceeds() {
+        var controller = controller(registry("success.changelog"));
+        controller.fork(event(EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS));
+
+        assertTrue(controller.join(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS)).isWaiting());
+        assertEquals(List.of(ETopics.FINISH_SUCCESS), controller.join(event(EEventSource.INVENTORY_SERVICE, ESagaStatus.SUCCESS)).getTopics());
+    }
+
+    @Test
+    void compensatesSucceededBranchesOnTheFirstFailure() {
+        var controller = controller(registry("failure.changelog"));
+        controller.fork(event(EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS));
+
+        var first = controller.join(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS));
+        var failed = controller.join(event(EEventSource.INVENTORY_SERVICE, ESagaStatus.FAIL));
+
+        assertTrue(first.isWaiting());
+        assertEquals(List.of(ETopics.PAYMENT_FAIL), failed.getTopics());
+        assertEquals(List.of(ETopics.PRODUCT_VALIDATION_FAIL), controller.join(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.FAIL)).getTopics());
+    }
+
+    @Test
+    void compensatesALateSuccessAfterTheFirstFailure() {
+        var controller = controller(registry("late.changelog"));
+        controller.fork(event(EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS));
+
+        assertTrue(controller.join(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.FAIL)).isWaiting());
+        var late = controller.join(event(EEventSource.INVENTORY_SERVICE, ESagaStatus.SUCCESS));
+
+        assertEquals(List.of(ETopics.INVENTORY_FAIL), late.getTopics());
+        assertEquals(ESagaStatus.ROLLBACK_PENDING, late.getEvent().getStatus());
+        assertEquals(List.of(ETopics.PRODUCT_VALIDATION_FAIL), controller.join(event(EEventSource.INVENTORY_SERVICE, ESagaStatus.FAIL)).getTopics());
+    }
+
+    @Test
+    void resumesTheJoinFromTheRecoveredRegistry() throws IOException {
+        String file = directory.resolve("recovery.changelog").toString();
+        var changelog = new FileSagaChangelog(file);
+        var controller = controller(new SagaRegistry(changelog, 16, 1, REPLY_TOPIC));
+        controller.fork(event(EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS));
+        controller.join(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS));
+        changelog.close();
+
+        var recovered = new SagaRegistry(new FileSagaChangelog(file), 16, 1, REPLY_TOPIC);
+        recovered.onPartitionsAssigned(null, List.of(new TopicPartition(REPLY_TOPIC, 0)));
+        var restarted = controller(recovered);
+
+        assertTrue(restarted.isJoinBranch(EEventSource.INVENTORY_SERVICE));
+        assertEquals(List.of(ETopics.FINISH_SUCCESS), restarted.join(event(EEventSource.INVENTORY_SERVICE, ESagaStatus.SUCCESS)).getTopics());
+    }
+
+    @Test
+    void discardsBranchRepliesForUnknownSagas() {
+        var controller = controller(registry("unknown.changelog"));
+
+        assertTrue(controller.join(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS)).isWaiting());
+    }
+
+    @Test
+    void evictsBranchHistoryOfSagasTheRegistryCompleted() {
+        var registry = registry("evict.changelog");
+        var controller = controller(registry);
+        controller.fork(event(EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS));
+        controller.join(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS));
+        registry.complete("tx-1");
+
+        controller.evictExpired();
+
+        assertEquals(0, controller.size());
+    }
+
+    @Test
+    void releasesBranchHistoryOfRevokedPartitions() {
+        var controller = controller(registry("revoke.changelog"));
+        controller.fork(event(EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS));
+
+        controller.onPartitionsRevokedBeforeCommit(null, List.of(new TopicPartition(REPLY_TOPIC, 0)));
+
+        assertEquals(0, controller.size());
+    }
+
+    private SagaForkJoinController controller(SagaRegistry registry) {
+        return new SagaForkJoinController(true, FORK_RETENTION_MS, 1, REPLY_TOPIC, registry, null);
+    }
+
+    private SagaRegistry registry(String file) {
+        return new SagaRegistry(new FileSagaChangelog(directory.resolve(file).toString()), 16, 1, REPLY_TOPIC);
+    }
+
+    private static Event event(EEventSource source, ESagaStatus status) {
+        return Event
+                .builder()
+                .id("event-1")
+                .transactionId("tx-1")
+                .orderId("order-1")
+                .source(source)
+                .status(status)
+                .build();
+    }
+}
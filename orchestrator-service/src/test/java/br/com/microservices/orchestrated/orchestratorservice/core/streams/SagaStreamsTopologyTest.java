@@ -0,0 +1,188 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.streams;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.history.SagaHistoryStore;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.utils.SagaHeaders;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.test.TestRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SagaStreamsTopologyTest {
+
+    private static final String DEAD_LETTER_TOPIC = "orchestrator.DLT";
+    private static final String TRANSACTION_ID = "tx-1";
+    private static final int MAX_HISTORY_ENTRIES = 2;
+
+    private JsonUtil jsonUtil;
+    private TopologyTestDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        var objectMapperBuilder = Jackson2ObjectMapperBuilder.json();
+        jsonUtil = new JsonUtil(objectMapperBuilder.build(), objectMapperBuilder.factory(new SmileFactory()).build(), false);
+        var topics = new SagaStreamsTopics(
+                ETopics.START_SAGA.getTopic(),
+                ETopics.BASE_ORCHESTRATOR.getTopic(),
+                ETopics.FINISH_SUCCESS.getTopic(),
+                ETopics.FINISH_FAIL.getTopic(),
+                DEAD_LETTER_TOPIC
+        );
+        var topology = new SagaStreamsTopology(
+                jsonUtil,
+                new SagaExecutionController(new HopLogger(0, 512)),
+                new SagaHistoryStore("full", MAX_HISTORY_ENTRIES, 3600000, 1, ETopics.BASE_ORCHESTRATOR.getTopic(), null),
+                topics
+        );
+        var builder = new StreamsBuilder();
+        topology.build(builder);
+        var props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "saga-streams-topology-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void startsTheSagaOnTheFirstStep() {
+        input(ETopics.START_SAGA).pipeInput(TRANSACTION_ID, jsonUtil.toBytes(event(null, null, 0)));
+
+        Event sent = jsonUtil.toEvent(output(ETopics.PRODUCT_VALIDATION_SUCCESS).readValue());
+
+        assertEquals(EEventSource.ORCHESTRATOR, sent.getSource());
+        assertEquals("Saga started", sent.getEventHistory().get(0).getMessage());
+        assertNotNull(sagaState().get(TRANSACTION_ID));
+    }
+
+    @Test
+    void forwardsReplyFromHeadersWithoutRoutingHeaders() {
+        byte[] payload = jsonUtil.toBytes(event(EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS, 1));
+
+        input(ETopics.BASE_ORCHESTRATOR).pipeInput(reply(payload, EEventSource.PRODUCT_VALIDATION_SERVICE, ESagaStatus.SUCCESS, 1));
+
+        TestRecord<String, byte[]> sent = output(ETopics.PAYMENT_SUCCESS).readRecord();
+        assertArrayEquals(payload, sent.value());
+        assertNull(sent.headers().lastHeader(SagaHeaders.SOURCE));
+        assertNull(sent.headers().lastHeader(SagaHeaders.STATUS));
+        assertNull(sent.headers().lastHeader(SagaHeaders.TRANSACTION_ID));
+    }
+
+    @Test
+    void trimsHistoryOfRepliesOverTheCap() {
+        byte[] payload = jsonUtil.toBytes(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS, 3));
+
+        input(ETopics.BASE_ORCHESTRATOR).pipeInput(reply(payload, EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS, 3));
+
+        Event sent = jsonUtil.toEvent(output(ETopics.INVENTORY_SUCCESS).readValue());
+        assertEquals(MAX_HISTORY_ENTRIES, sent.getEventHistory().size());
+    }
+
+    @Test
+    void sendsUnroutableRepliesToTheDeadLetterTopic() {
+        byte[] payload = jsonUtil.toBytes(event(EEventSource.ORCHESTRATOR, ESagaStatus.ROLLBACK_PENDING, 0));
+
+        input(ETopics.BASE_ORCHESTRATOR).pipeInput(reply(payload, EEventSource.ORCHESTRATOR, ESagaStatus.ROLLBACK_PENDING, 0));
+
+        TestRecord<String, byte[]> dead = deadLetter().readRecord();
+        assertArrayEquals(payload, dead.value());
+        assertNull(dead.headers().lastHeader(SagaHeaders.SOURCE));
+        assertNull(sagaState().get(TRANSACTION_ID));
+    }
+
+    @Test
+    void sendsUnreadableEventsToTheDeadLetterTopic() {
+        byte[] payload = "not an event".getBytes(StandardCharsets.UTF_8);
+
+        input(ETopics.START_SAGA).pipeInput(TRANSACTION_ID, payload);
+
+        assertArrayEquals(payload, deadLetter().readValue());
+        assertTrue(output(ETopics.PRODUCT_VALIDATION_SUCCESS).isEmpty());
+    }
+
+    @Test
+    void finishesTheSagaAndClearsItsState() {
+        input(ETopics.START_SAGA).pipeInput(TRANSACTION_ID, jsonUtil.toBytes(event(null, null, 0)));
+        input(ETopics.FINISH_SUCCESS).pipeInput(TRANSACTION_ID, jsonUtil.toBytes(event(EEventSource.INVENTORY_SERVICE, ESagaStatus.SUCCESS, MAX_HISTORY_ENTRIES + 1)));
+
+        Event ended = jsonUtil.toEvent(output(ETopics.NOTIFY_ENDING).readValue());
+
+        assertEquals(ESagaStatus.SUCCESS, ended.getStatus());
+        assertEquals(MAX_HISTORY_ENTRIES + 2, ended.getEventHistory().size());
+        assertNull(sagaState().get(TRANSACTION_ID));
+    }
+
+    private TestInputTopic<String, byte[]> input(ETopics topic) {
+        return driver.createInputTopic(topic.getTopic(), new StringSerializer(), new ByteArraySerializer());
+    }
+
+    private TestOutputTopic<String, byte[]> output(ETopics topic) {
+        return driver.createOutputTopic(topic.getTopic(), new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    private TestOutputTopic<String, byte[]> deadLetter() {
+        return driver.createOutputTopic(DEAD_LETTER_TOPIC, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    private KeyValueStore<String, String> sagaState() {
+        return driver.getKeyValueStore(SagaStreamsTopology.SAGA_STATE_STORE);
+    }
+
+    private static TestRecord<String, byte[]> reply(byte[] payload, EEventSource source, ESagaStatus status, int historySize) {
+        var headers = new RecordHeaders();
+        SagaHeaders.write(headers, TRANSACTION_ID, "order-1", source, status, historySize);
+        return new TestRecord<>(TRANSACTION_ID, payload, headers);
+    }
+
+    private static Event event(EEventSource source, ESagaStatus status, int historySize) {
+        List<History> history = new ArrayList<>();
+        for (int i = 0; i < historySize; i++) {
+            history.add(History.builder().source(source).status(status).message("step " + i).createdAt(LocalDateTime.now()).build());
+        }
+        return Event
+                .builder()
+                .id("event-1")
+                .transactionId(TRANSACTION_ID)
+                .orderId("order-1")
+                .source(source)
+                .status(status)
+                .eventHistory(history.isEmpty() ? null : history)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
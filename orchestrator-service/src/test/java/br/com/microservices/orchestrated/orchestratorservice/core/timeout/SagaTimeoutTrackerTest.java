@@ -0,0 +1,79 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timeout;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EReplyAction;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SagaTimeoutTrackerTest {
+
+    private static final long STEP_TIMEOUT_MS = 1_000;
+    private static final int PARTITION_COUNT = 4;
+    private static final String REPLY_TOPIC = "orchestrator";
+
+    private final SagaTimeoutTracker tracker = new SagaTimeoutTracker(true, STEP_TIMEOUT_MS, 10, PARTITION_COUNT, REPLY_TOPIC);
+
+    @Test
+    void acknowledgedStepIsRoutedAndNeverExpires() {
+        tracker.arm("tx-1", "order-1", ETopics.PAYMENT_SUCCESS);
+
+        assertEquals(EReplyAction.ROUTE, tracker.acknowledge("tx-1", EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS));
+        assertTrue(tracker.expire(System.currentTimeMillis() + 2 * STEP_TIMEOUT_MS).isEmpty());
+    }
+
+    @Test
+    void expiredTimeoutKeepsOnlyTheRoutingKey() {
+        tracker.arm("tx-1", "order-1", ETopics.PAYMENT_SUCCESS);
+
+        List<SagaTimeout> expired = tracker.expire(System.currentTimeMillis() + 2 * STEP_TIMEOUT_MS);
+
+        assertEquals(1, expired.size());
+        assertEquals("tx-1", expired.get(0).getTransactionId());
+        assertEquals("order-1", expired.get(0).getOrderId());
+        assertEquals(EEventSource.PAYMENT_SERVICE, expired.get(0).getSource());
+    }
+
+    @Test
+    void lateSuccessIsCompensatedAndOnlyOneFailReplyIsRouted() {
+        tracker.arm("tx-1", "order-1", ETopics.PAYMENT_SUCCESS);
+        tracker.expire(System.currentTimeMillis() + 2 * STEP_TIMEOUT_MS);
+
+        assertEquals(EReplyAction.COMPENSATE, tracker.acknowledge("tx-1", EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS));
+        assertEquals(EReplyAction.DISCARD, tracker.acknowledge("tx-1", EEventSource.PAYMENT_SERVICE, ESagaStatus.ROLLBACK_PENDING));
+        assertEquals(EReplyAction.ROUTE, tracker.acknowledge("tx-1", EEventSource.PAYMENT_SERVICE, ESagaStatus.FAIL));
+        assertEquals(EReplyAction.DISCARD, tracker.acknowledge("tx-1", EEventSource.PAYMENT_SERVICE, ESagaStatus.FAIL));
+    }
+
+    @Test
+    void revokedReplyPartitionDropsItsDeadlines() {
+        IntStream.range(0, 100).forEach(i -> tracker.arm("tx-" + i, "order-" + i, ETopics.INVENTORY_SUCCESS));
+
+        tracker.onPartitionsRevokedBeforeCommit(null, List.of(
+                new TopicPartition(REPLY_TOPIC, 0),
+                new TopicPartition(REPLY_TOPIC, 1),
+                new TopicPartition(REPLY_TOPIC, 2),
+                new TopicPartition(REPLY_TOPIC, 3)
+        ));
+
+        assertEquals(0, tracker.pendingCount());
+        assertTrue(tracker.expire(System.currentTimeMillis() + 2 * STEP_TIMEOUT_MS).isEmpty());
+    }
+
+    @Test
+    void otherTopicsDoNotAffectDeadlines() {
+        tracker.arm("tx-1", "order-1", ETopics.INVENTORY_SUCCESS);
+
+        tracker.onPartitionsRevokedBeforeCommit(null, List.of(new TopicPartition("start-saga", 0), new TopicPartition("start-saga", 1),
+                new TopicPartition("start-saga", 2), new TopicPartition("start-saga", 3)));
+
+        assertEquals(1, tracker.pendingCount());
+    }
+}
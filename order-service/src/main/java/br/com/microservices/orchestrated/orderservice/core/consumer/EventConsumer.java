@@ -2,13 +2,12 @@ package br.com.microservices.orchestrated.orderservice.core.consumer;
 
 import br.com.microservices.orchestrated.orderservice.core.documents.Event;
 import br.com.microservices.orchestrated.orderservice.core.services.EventService;
-import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 @AllArgsConstructor
 public class EventConsumer {
@@ -17,13 +16,15 @@ public class EventConsumer {
 
     private final JsonUtil jsonUtil;
 
+    private final HopLogger hopLogger;
+
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.notify-ending}"
     )
-    public void consumeNotifyEndingEvent(String payload) {
-        log.info("Receiving ending notification event {} from notify-ending topic", payload);
-        Event event = jsonUtil.toEvent(payload);
+    public void consumeNotifyEndingEvent(byte[] payload) {
+        Event event = jsonUtil.toObject(payload, Event.class);
+        hopLogger.logReceived("notify-ending", event.getTransactionId(), payload);
         service.notifyEnding(event);
     }
 }
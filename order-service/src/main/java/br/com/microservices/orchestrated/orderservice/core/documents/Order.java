@@ -1,10 +1,12 @@
 package br.com.microservices.orchestrated.orderservice.core.documents;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -15,6 +17,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "order")
+@CompoundIndex(name = "outbox_status_created_at", def = "{'outbox.status': 1, 'createdAt': 1}")
 public class Order {
     @Id
     private String id;
@@ -23,4 +26,6 @@ public class Order {
     private String transactionId;
     private double totalAmount;
     private int totalItems;
+    @JsonIgnore
+    private OrderOutbox outbox;
 }
@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.orderservice.core.documents;
+
+import br.com.microservices.orchestrated.orderservice.core.enums.EOutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutbox {
+    private String eventId;
+    private EOutboxStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime dispatchedAt;
+}
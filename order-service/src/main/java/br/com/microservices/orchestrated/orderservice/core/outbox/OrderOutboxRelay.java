@@ -0,0 +1,134 @@
+package br.com.microservices.orchestrated.orderservice.core.outbox;
+
+import br.com.microservices.orchestrated.orderservice.core.documents.Event;
+import br.com.microservices.orchestrated.orderservice.core.documents.Order;
+import br.com.microservices.orchestrated.orderservice.core.documents.OrderOutbox;
+import br.com.microservices.orchestrated.orderservice.core.enums.EOutboxStatus;
+import br.com.microservices.orchestrated.orderservice.core.producer.SagaProducer;
+import br.com.microservices.orchestrated.orderservice.core.repositories.OrderRepository;
+import br.com.microservices.orchestrated.orderservice.core.services.EventService;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+    private static final String ID_FIELD = "_id";
+    private static final String OUTBOX_STATUS_FIELD = "outbox.status";
+    private static final String OUTBOX_DISPATCHED_AT_FIELD = "outbox.dispatchedAt";
+
+    private final OrderRepository orderRepository;
+    private final EventService eventService;
+    private final SagaProducer producer;
+    private final JsonUtil jsonUtil;
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final long ackTimeoutMillis;
+
+    public OrderOutboxRelay(OrderRepository orderRepository,
+                            EventService eventService,
+                            SagaProducer producer,
+                            JsonUtil jsonUtil,
+                            MongoTemplate mongoTemplate,
+                            @Value("${order.outbox.batch-size}") int batchSize,
+                            @Value("${order.outbox.ack-timeout-ms}") long ackTimeoutMillis) {
+        this.orderRepository = orderRepository;
+        this.eventService = eventService;
+        this.producer = producer;
+        this.jsonUtil = jsonUtil;
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms}")
+    public void relay() {
+        List<Order> orders;
+        int dispatched;
+        do {
+            orders = orderRepository.findByOutboxStatusOrderByCreatedAtAsc(EOutboxStatus.PENDING, PageRequest.of(0, batchSize));
+            if (orders.isEmpty()) {
+                return;
+            }
+            dispatched = dispatch(orders);
+        } while (orders.size() == batchSize && dispatched == orders.size());
+    }
+
+    private int dispatch(List<Order> orders) {
+        List<Event> events = eventService.saveAll(orders.stream().map(this::createPayload).collect(Collectors.toList()));
+        List<ListenableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(events.size());
+        try {
+            for (Event event : events) {
+                futures.add(producer.sendEvent(jsonUtil.toBytes(event), event.getTransactionId()));
+            }
+        } catch (RuntimeException exception) {
+            log.error("Error trying to relay outbox batch, {} of {} orders sent", futures.size(), orders.size(), exception);
+        }
+        producer.flush();
+        List<String> dispatchedIds = awaitAcknowledged(orders, futures);
+        markDispatched(dispatchedIds);
+        log.info("Relayed {} of {} pending orders to the start-saga topic", dispatchedIds.size(), orders.size());
+        return dispatchedIds.size();
+    }
+
+    private List<String> awaitAcknowledged(List<Order> orders, List<ListenableFuture<SendResult<String, byte[]>>> futures) {
+        List<String> dispatchedIds = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+                dispatchedIds.add(orders.get(i).getId());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException exception) {
+                log.warn("Order {} stays pending in the outbox: {}", orders.get(i).getId(), exception.getMessage());
+            }
+        }
+        return dispatchedIds;
+    }
+
+    private void markDispatched(List<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where(ID_FIELD).in(orderIds)),
+                new Update()
+                        .set(OUTBOX_STATUS_FIELD, EOutboxStatus.DISPATCHED)
+                        .set(OUTBOX_DISPATCHED_AT_FIELD, LocalDateTime.now()),
+                Order.class
+        );
+    }
+
+    private Event createPayload(Order order) {
+        OrderOutbox outbox = order.getOutbox();
+        order.setOutbox(null);
+        return Event
+                .builder()
+                .id(outbox.getEventId())
+                .orderId(order.getId())
+                .transactionId(order.getTransactionId())
+                .payload(order)
+                .createdAt(outbox.getCreatedAt())
+                .build();
+    }
+}
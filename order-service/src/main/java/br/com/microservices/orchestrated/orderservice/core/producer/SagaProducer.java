@@ -1,26 +1,35 @@
 package br.com.microservices.orchestrated.orderservice.core.producer;
 
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
 
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class SagaProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final SagaProducerPipeline producerPipeline;
+
+    private final HopLogger hopLogger;
 
     @Value("${spring.kafka.topic.start-saga}")
     private String startSagaTopic;
 
-    public void sendEvent(String payload) {
-        try {
-            log.info("Sending event to topic {} with data {}", startSagaTopic, payload);
-            kafkaTemplate.send(startSagaTopic, payload);
-        } catch (Exception exception) {
-            log.error("Error trying to send data to topic {} with data {}", startSagaTopic, payload);
-        }
+    public ListenableFuture<SendResult<String, byte[]>> sendEvent(byte[] payload, String transactionId) {
+        hopLogger.logSending(startSagaTopic, transactionId, payload);
+        var future = producerPipeline.send(new ProducerRecord<>(startSagaTopic, transactionId, payload));
+        future.addCallback(
+                result -> { },
+                exception -> hopLogger.logSendError(startSagaTopic, transactionId, payload, exception)
+        );
+        return future;
+    }
+
+    public void flush() {
+        producerPipeline.flush();
     }
 }
@@ -1,7 +1,13 @@
 package br.com.microservices.orchestrated.orderservice.core.repositories;
 
 import br.com.microservices.orchestrated.orderservice.core.documents.Order;
+import br.com.microservices.orchestrated.orderservice.core.enums.EOutboxStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
+
 public interface OrderRepository extends MongoRepository<Order, String> {
+
+    List<Order> findByOutboxStatusOrderByCreatedAtAsc(EOutboxStatus status, Pageable pageable);
 }
@@ -31,6 +31,10 @@ public class EventService {
         return repository.save(event);
     }
 
+    public List<Event> saveAll(List<Event> events) {
+        return repository.saveAll(events);
+    }
+
     public List<Event> findAll() {
         return repository.findAllByOrderByCreatedAtDesc();
     }
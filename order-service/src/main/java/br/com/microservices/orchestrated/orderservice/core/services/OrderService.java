@@ -1,12 +1,12 @@
 package br.com.microservices.orchestrated.orderservice.core.services;
 
-import br.com.microservices.orchestrated.orderservice.core.documents.Event;
 import br.com.microservices.orchestrated.orderservice.core.documents.Order;
+import br.com.microservices.orchestrated.orderservice.core.documents.OrderOutbox;
 import br.com.microservices.orchestrated.orderservice.core.dtos.OrderRequest;
-import br.com.microservices.orchestrated.orderservice.core.producer.SagaProducer;
+import br.com.microservices.orchestrated.orderservice.core.enums.EOutboxStatus;
 import br.com.microservices.orchestrated.orderservice.core.repositories.OrderRepository;
-import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -18,33 +18,26 @@ import java.util.UUID;
 public class OrderService {
     private static final String TRANSACTION_ID_PATTERN = "%s_%s";
 
-    private final EventService eventService;
-    private final JsonUtil jsonUtil;
-    private final SagaProducer producer;
     private final OrderRepository repository;
 
     public Order createOrder(OrderRequest orderRequest) {
+        LocalDateTime now = LocalDateTime.now();
         Order order = Order
                 .builder()
                 .products(orderRequest.getProducts())
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
                 .transactionId(
                         String.format(TRANSACTION_ID_PATTERN, Instant.now().toEpochMilli(), UUID.randomUUID())
                 )
+                .outbox(
+                        OrderOutbox
+                                .builder()
+                                .eventId(new ObjectId().toHexString())
+                                .status(EOutboxStatus.PENDING)
+                                .createdAt(now)
+                                .build()
+                )
                 .build();
-        repository.save(order);
-        producer.sendEvent(jsonUtil.toJson(createPayload(order)));
-        return order;
-    }
-
-    public Event createPayload(Order order) {
-        Event event = Event
-                .builder()
-                .orderId(order.getId())
-                .transactionId(order.getTransactionId())
-                .payload(order)
-                .createdAt(LocalDateTime.now())
-                .build();
-        return eventService.save(event);
+        return repository.save(order);
     }
 }
@@ -1,17 +1,27 @@
 package br.com.microservices.orchestrated.paymentservice.config.kafka;
 
+import br.com.microservices.orchestrated.sagacommons.config.exception.SerializationException;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EProducerProfile;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,31 +30,47 @@ import java.util.Map;
 @Configuration
 @RequiredArgsConstructor
 public class KafkaConfig {
-    private static final Integer PARTITION_COUNT = 1;
-
     private static final Integer REPLICA_COUNT = 1;
+    private static final Integer MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION = 5;
+    private static final Long BATCH_RETRY_INTERVAL_MS = 1000L;
+    private static final Long BATCH_MAX_RETRIES = 3L;
+
+    @Value("${spring.kafka.partition-count}")
+    private Integer partitionCount;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer concurrency;
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${spring.kafka.producer.profile}")
+    private String producerProfile;
+
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${spring.kafka.consumer.max-poll-records}")
+    private Integer maxPollRecords;
+
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
 
     @Value("${spring.kafka.topic.payment-success}")
     private String paymentSuccessTopic;
 
+    @Value("${spring.kafka.topic.payment-success-dlt}")
+    private String paymentSuccessDltTopic;
+
     @Value("${spring.kafka.topic.payment-fail}")
     private String paymentFailTopic;
 
 
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerProps());
     }
 
@@ -53,14 +79,47 @@ public class KafkaConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
         return props;
     }
 
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(ConsumerFactory<String, byte[]> consumerFactory) {
+        return buildListenerContainerFactory(consumerFactory);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> batchKafkaListenerContainerFactory(ConsumerFactory<String, byte[]> consumerFactory,
+                                                                                                      KafkaTemplate<String, byte[]> kafkaTemplate) {
+        var factory = buildListenerContainerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(batchErrorHandler(kafkaTemplate));
+        return factory;
+    }
+
+    private DefaultErrorHandler batchErrorHandler(KafkaTemplate<String, byte[]> kafkaTemplate) {
+        var recoverer = new DeadLetterPublishingRecoverer(
+                kafkaTemplate,
+                (record, exception) -> new TopicPartition(paymentSuccessDltTopic, record.partition())
+        );
+        var errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(BATCH_RETRY_INTERVAL_MS, BATCH_MAX_RETRIES));
+        errorHandler.addNotRetryableExceptions(SerializationException.class);
+        return errorHandler;
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, byte[]> buildListenerContainerFactory(ConsumerFactory<String, byte[]> consumerFactory) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> producerFactory() {
         return new DefaultKafkaProducerFactory<>(producerProps());
     }
 
@@ -68,13 +127,17 @@ public class KafkaConfig {
         var props = new HashMap<String, Object>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION);
+        EProducerProfile.of(producerProfile).applyTo(props);
 
         return props;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+    public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
 
@@ -82,7 +145,7 @@ public class KafkaConfig {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .partitions(partitionCount)
                 .build();
     }
 
@@ -93,7 +156,12 @@ public class KafkaConfig {
 
     @Bean
     public NewTopic paymentSuccessTopic() {
-        return buildTopics(paymentFailTopic);
+        return buildTopics(paymentSuccessTopic);
+    }
+
+    @Bean
+    public NewTopic paymentSuccessDltTopic() {
+        return buildTopics(paymentSuccessDltTopic);
     }
 
     @Bean
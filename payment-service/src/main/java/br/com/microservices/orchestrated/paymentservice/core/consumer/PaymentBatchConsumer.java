@@ -0,0 +1,60 @@
+package br.com.microservices.orchestrated.paymentservice.core.consumer;
+
+import br.com.microservices.orchestrated.paymentservice.core.services.PaymentService;
+import br.com.microservices.orchestrated.sagacommons.config.exception.SerializationException;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "payment.consumer.batch-enabled", havingValue = "true")
+public class PaymentBatchConsumer {
+
+    private final JsonUtil jsonUtil;
+
+    private final HopLogger hopLogger;
+
+    private final PaymentService paymentService;
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.payment-success}",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consumeSuccessEvents(List<ConsumerRecord<String, byte[]>> records) {
+        List<Event> events = new ArrayList<>(records.size());
+        for (int index = 0; index < records.size(); index++) {
+            ConsumerRecord<String, byte[]> record = records.get(index);
+            try {
+                Event event = jsonUtil.toEvent(record.value());
+                hopLogger.logReceived(record.topic(), event.getTransactionId(), record.value());
+                events.add(event);
+            } catch (SerializationException ex) {
+                log.error("Unreadable payment event at offset {} of partition {}", record.offset(), record.partition(), ex);
+                realizePayments(events);
+                throw new BatchListenerFailedException("Unreadable payment event", ex, index);
+            }
+        }
+        realizePayments(events);
+    }
+
+    private void realizePayments(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        paymentService.realizePayments(events);
+        log.info("Processed batch of {} payment events", events.size());
+    }
+}
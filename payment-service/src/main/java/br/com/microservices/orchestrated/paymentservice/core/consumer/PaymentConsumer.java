@@ -1,29 +1,31 @@
 package br.com.microservices.orchestrated.paymentservice.core.consumer;
 
-import br.com.microservices.orchestrated.paymentservice.core.dtos.Event;
 import br.com.microservices.orchestrated.paymentservice.core.services.PaymentService;
-import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 @AllArgsConstructor
 public class PaymentConsumer {
 
     private final JsonUtil jsonUtil;
 
+    private final HopLogger hopLogger;
+
     private final PaymentService paymentService;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-success}"
+            topics = "${spring.kafka.topic.payment-success}",
+            autoStartup = "#{!${payment.consumer.batch-enabled}}"
     )
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from payment-success topic", payload);
+    public void consumeSuccessEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("payment-success", event.getTransactionId(), payload);
         paymentService.realizePayment(event);
     }
 
@@ -31,9 +33,9 @@ public class PaymentConsumer {
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.payment-fail}"
     )
-    public void consumeFailEvent(String payload) {
-        log.info("Receiving rollback event {} from payment-fail topic", payload);
+    public void consumeFailEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("payment-fail", event.getTransactionId(), payload);
         paymentService.realizeRefund(event);
     }
 }
@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "payment")
+@Table(
+        name = "payment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_order_transaction", columnNames = {"order_id", "transaction_id"})
+)
 public class Payment {
 
     @Id
@@ -48,7 +51,9 @@ public class Payment {
         LocalDateTime now = LocalDateTime.now();
         createdAt = now;
         updatedAt = now;
-        status = EPaymentStatus.PENDING;
+        if (status == null) {
+            status = EPaymentStatus.PENDING;
+        }
     }
 
     @PreUpdate
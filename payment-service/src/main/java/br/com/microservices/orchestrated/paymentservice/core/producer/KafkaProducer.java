@@ -1,26 +1,68 @@
 package br.com.microservices.orchestrated.paymentservice.core.producer;
 
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.utils.SagaHeaders;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final SagaProducerPipeline producerPipeline;
+
+    private final HopLogger hopLogger;
+
+    private final JsonUtil jsonUtil;
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
 
-    public void sendEvent(String payload) {
+    public void sendEvent(Event event) {
+        send(event);
+    }
+
+    public void sendEvents(List<Event> events) {
+        List<ListenableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(events.size());
+        events.forEach(event -> sends.add(send(event)));
+        producerPipeline.flush();
+        for (int i = 0; i < sends.size(); i++) {
+            awaitSend(sends.get(i), events.get(i), i);
+        }
+    }
+
+    private ListenableFuture<SendResult<String, byte[]>> send(Event event) {
+        byte[] payload = jsonUtil.toBytes(event);
+        hopLogger.logSending(orchestratorTopic, event.getTransactionId(), payload);
+        var record = new ProducerRecord<>(orchestratorTopic, event.getTransactionId(), payload);
+        SagaHeaders.write(record.headers(), event);
+        var future = producerPipeline.send(record);
+        future.addCallback(
+                result -> { },
+                exception -> hopLogger.logSendError(orchestratorTopic, event.getTransactionId(), payload, exception)
+        );
+        return future;
+    }
+
+    private void awaitSend(ListenableFuture<SendResult<String, byte[]>> future, Event event, int index) {
         try {
-            log.info("Sending event to topic {} with data {}", orchestratorTopic, payload);
-            kafkaTemplate.send(orchestratorTopic, payload);
-        } catch (Exception exception) {
-            log.error("Error trying to send data to topic {} with data {}", orchestratorTopic, payload);
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BatchListenerFailedException("Interrupted while sending event for transaction ".concat(event.getTransactionId()), ex, index);
+        } catch (ExecutionException ex) {
+            throw new BatchListenerFailedException("Error trying to send event for transaction ".concat(event.getTransactionId()), ex.getCause(), index);
         }
     }
 }
@@ -0,0 +1,10 @@
+package br.com.microservices.orchestrated.paymentservice.core.repositories;
+
+import br.com.microservices.orchestrated.paymentservice.core.models.Payment;
+
+import java.util.List;
+
+public interface PaymentBatchRepository {
+    int[] insertAllIgnoringDuplicates(List<Payment> payments);
+    int insertIgnoringDuplicate(Payment payment);
+}
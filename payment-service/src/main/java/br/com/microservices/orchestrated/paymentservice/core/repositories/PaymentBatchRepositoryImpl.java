@@ -0,0 +1,56 @@
+package br.com.microservices.orchestrated.paymentservice.core.repositories;
+
+import br.com.microservices.orchestrated.paymentservice.core.models.Payment;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+public class PaymentBatchRepositoryImpl implements PaymentBatchRepository {
+
+    private static final String INSERT_PAYMENT =
+            "INSERT INTO payment (order_id, transaction_id, total_items, total_amount, status, created_at, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (order_id, transaction_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] insertAllIgnoringDuplicates(List<Payment> payments) {
+        return jdbcTemplate.batchUpdate(INSERT_PAYMENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                bind(statement, payments.get(index));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return payments.size();
+            }
+        });
+    }
+
+    @Override
+    public int insertIgnoringDuplicate(Payment payment) {
+        return jdbcTemplate.update(INSERT_PAYMENT, statement -> bind(statement, payment));
+    }
+
+    private void bind(PreparedStatement statement, Payment payment) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        payment.setCreatedAt(now);
+        payment.setUpdatedAt(now);
+        statement.setString(1, payment.getOrderId());
+        statement.setString(2, payment.getTransactionId());
+        statement.setInt(3, payment.getTotalItems());
+        statement.setDouble(4, payment.getTotalAmount());
+        statement.setString(5, payment.getStatus().name());
+        statement.setTimestamp(6, Timestamp.valueOf(now));
+        statement.setTimestamp(7, Timestamp.valueOf(now));
+    }
+}
@@ -5,7 +5,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
-public interface PaymentRepository extends JpaRepository<Payment, Integer> {
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
+public interface PaymentRepository extends JpaRepository<Payment, Integer>, PaymentBatchRepository {
     Optional<Payment> findByOrderIdAndTransactionId(String orderId, String transactionId);
 }
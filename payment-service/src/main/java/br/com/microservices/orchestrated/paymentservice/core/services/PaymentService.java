@@ -1,68 +1,190 @@
 package br.com.microservices.orchestrated.paymentservice.core.services;
 
 import br.com.microservices.orchestrated.paymentservice.config.exceptions.ValidationException;
-import br.com.microservices.orchestrated.paymentservice.core.dtos.Event;
-import br.com.microservices.orchestrated.paymentservice.core.dtos.History;
-import br.com.microservices.orchestrated.paymentservice.core.dtos.OrderProducts;
 import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
-import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.paymentservice.core.models.Payment;
 import br.com.microservices.orchestrated.paymentservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.paymentservice.core.repositories.PaymentRepository;
-import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.OrderProducts;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.idempotency.IdempotencyCache;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class PaymentService {
-    private static final String CURRENT_SOURCE = "PAYMENT_SERVICE";
+    private static final EEventSource CURRENT_SOURCE = EEventSource.PAYMENT_SERVICE;
     private static final Double REDUCE_DOUBLE = 0.0;
     private static final Double MIN_AMOUNT_VALUE = 0.1;
+    private static final String DUPLICATED_TRANSACTION_MESSAGE = "There are another transactionID for this validation";
+    private static final int FAILED_INSERT = -1;
 
 
-    private final JsonUtil jsonUtil;
     private final KafkaProducer producer;
     private final PaymentRepository paymentRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment.staged-flow}")
+    private boolean stagedFlow;
 
     public void realizePayment(Event event) {
         try {
             checkCurrentValidation(event);
-            createPendingPayment(event);
-            Payment payment = findByOrderIdAndTransactionId(event);
-            validateAmount(payment.getTotalAmount());
-            changePaymentSuccess(payment);
+            if (stagedFlow) {
+                realizeStagedPayment(event);
+            } else {
+                realizeDirectPayment(event);
+            }
             handleSuccess(event);
         } catch(Exception ex) {
             log.error("Error trying to make payment: " + ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
-        producer.sendEvent(jsonUtil.toJson(event));
+        producer.sendEvent(event);
+    }
+
+    public void realizePayments(List<Event> events) {
+        if (stagedFlow) {
+            events.forEach(this::realizePayment);
+            return;
+        }
+        List<Event> accepted = new ArrayList<>(events.size());
+        List<Payment> payments = new ArrayList<>(events.size());
+        Set<String> batchKeys = new HashSet<>();
+        for (Event event : events) {
+            try {
+                if (idempotencyCache.contains(event.getPayload().getId(), event.getTransactionId())) {
+                    replayStoredOutcome(event);
+                    continue;
+                }
+                if (!batchKeys.add(event.getPayload().getId() + ':' + event.getTransactionId())) {
+                    throw new ValidationException(DUPLICATED_TRANSACTION_MESSAGE);
+                }
+                Payment payment = buildPayment(event);
+                payment.setStatus(payment.getTotalAmount() >= MIN_AMOUNT_VALUE ? EPaymentStatus.SUCCESS : EPaymentStatus.PENDING);
+                accepted.add(event);
+                payments.add(payment);
+            } catch (Exception ex) {
+                log.error("Error trying to make payment: " + ex);
+                handleFailCurrentNotExecuted(event, ex.getMessage());
+            }
+        }
+        int[] inserted = insertPayments(payments);
+        for (int i = 0; i < accepted.size(); i++) {
+            completeBatchedPayment(accepted.get(i), payments.get(i), inserted[i]);
+        }
+        producer.sendEvents(events);
+    }
+
+    private int[] insertPayments(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return new int[0];
+        }
+        try {
+            return transactionTemplate.execute(status -> paymentRepository.insertAllIgnoringDuplicates(payments));
+        } catch (DataAccessException ex) {
+            log.error("Error trying to insert a batch of {} payments, retrying one by one", payments.size(), ex);
+        }
+        int[] inserted = new int[payments.size()];
+        for (int i = 0; i < payments.size(); i++) {
+            try {
+                inserted[i] = paymentRepository.insertIgnoringDuplicate(payments.get(i));
+            } catch (DataAccessException ex) {
+                log.error("Error trying to insert payment for order {}", payments.get(i).getOrderId(), ex);
+                inserted[i] = FAILED_INSERT;
+            }
+        }
+        return inserted;
+    }
+
+    private void completeBatchedPayment(Event event, Payment payment, int inserted) {
+        try {
+            if (inserted == FAILED_INSERT) {
+                throw new ValidationException("Payment could not be persisted");
+            }
+            if (inserted == 0) {
+                replayStoredOutcome(event);
+                return;
+            }
+            idempotencyCache.record(payment.getOrderId(), payment.getTransactionId());
+            validateAmount(payment.getTotalAmount());
+            handleSuccess(event);
+        } catch (Exception ex) {
+            log.error("Error trying to make payment: " + ex);
+            handleFailCurrentNotExecuted(event, ex.getMessage());
+        }
+    }
+
+    private void replayStoredOutcome(Event event) {
+        Payment payment = findByOrderIdAndTransactionId(event);
+        if (payment.getStatus() != EPaymentStatus.SUCCESS) {
+            throw new ValidationException(DUPLICATED_TRANSACTION_MESSAGE);
+        }
+        log.info("Payment for order {} and transaction {} already realized, re-emitting its outcome", payment.getOrderId(), payment.getTransactionId());
+        setEventAmountItems(event, payment);
+        handleSuccess(event);
     }
 
     private void checkCurrentValidation(Event event) {
-        if (paymentRepository.existsByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())) {
-            throw new ValidationException("There are another transactionID for this validation");
+        if (idempotencyCache.contains(event.getPayload().getId(), event.getTransactionId())) {
+            throw new ValidationException(DUPLICATED_TRANSACTION_MESSAGE);
         }
     }
 
-    private void createPendingPayment(Event event) {
+    private void realizeDirectPayment(Event event) {
+        Payment payment = buildPayment(event);
+        boolean validAmount = payment.getTotalAmount() >= MIN_AMOUNT_VALUE;
+        payment.setStatus(validAmount ? EPaymentStatus.SUCCESS : EPaymentStatus.PENDING);
+        insertPayment(payment);
+        validateAmount(payment.getTotalAmount());
+    }
+
+    private void realizeStagedPayment(Event event) {
+        Payment payment = buildPayment(event);
+        payment.setStatus(EPaymentStatus.PENDING);
+        insertPayment(payment);
+        validateAmount(payment.getTotalAmount());
+        changePaymentSuccess(payment);
+    }
+
+    private Payment buildPayment(Event event) {
         int totalItems = calculateTotalItems(event);
 
         double totalAmount = calculateAmount(event);
 
-        Payment payment = Payment
+        return Payment
                 .builder()
                 .orderId(event.getPayload().getId())
                 .transactionId(event.getTransactionId())
                 .totalAmount(totalAmount)
                 .totalItems(totalItems)
                 .build();
-        paymentRepository.save(payment);
+    }
+
+    private void insertPayment(Payment payment) {
+        try {
+            paymentRepository.save(payment);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ValidationException(DUPLICATED_TRANSACTION_MESSAGE);
+        }
+        idempotencyCache.record(payment.getOrderId(), payment.getTransactionId());
     }
 
     private double calculateAmount(Event event) {
@@ -126,7 +248,7 @@ public class PaymentService {
         } catch(Exception ex) {
             addHistory(event, "Rollback not executed for payment : ".concat(ex.getMessage()));
         }
-        producer.sendEvent(jsonUtil.toJson(event));
+        producer.sendEvent(event);
     }
 
     private void changePaymentStatusToRefund(Event event) {
@@ -0,0 +1,124 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.catalog;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.repositories.ProductCodeRepositoryImpl;
+import br.com.microservices.orchestrated.productvalidationservice.core.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product existence check for one order: a query per product, as validation used to do, against one set-based
+ * query and the in-memory catalog. Needs the product Postgres from docker-compose (override with
+ * -Dproduct.bench.url/user/password); the extra product codes are inserted for the trial and removed afterwards.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProductExistenceBenchmark {
+
+    private static final String BENCH_CODE_PREFIX = "BENCH_PRODUCT_";
+
+    @Param({"per-product", "set-query", "catalog"})
+    private String lookup;
+
+    @Param({"1", "10", "50"})
+    private int productsPerOrder;
+
+    private JdbcTemplate jdbcTemplate;
+    private ProductCodeRepositoryImpl productCodeRepository;
+    private ProductCatalog catalog;
+    private Set<String> orderCodes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                System.getProperty("product.bench.url", "jdbc:postgresql://localhost:5432/product-db"),
+                System.getProperty("product.bench.user", "postgres"),
+                System.getProperty("product.bench.password", "postgres")
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        productCodeRepository = new ProductCodeRepositoryImpl(new NamedParameterJdbcTemplate(jdbcTemplate));
+        orderCodes = new HashSet<>(productsPerOrder);
+        for (int index = 0; index < productsPerOrder; index++) {
+            String code = BENCH_CODE_PREFIX + index;
+            jdbcTemplate.update("INSERT INTO product (code) VALUES (?) ON CONFLICT (code) DO NOTHING", code);
+            orderCodes.add(code);
+        }
+        if ("catalog".equals(lookup)) {
+            var setCatalog = new SetProductCatalog(productRepository(), new SimpleMeterRegistry());
+            setCatalog.load();
+            catalog = setCatalog;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM product WHERE code LIKE ?", BENCH_CODE_PREFIX + "%");
+    }
+
+    @Benchmark
+    public Set<String> findMissing() {
+        switch (lookup) {
+            case "per-product":
+                return findMissingPerProduct();
+            case "set-query":
+                Set<String> missing = new HashSet<>(orderCodes);
+                missing.removeAll(productCodeRepository.findExistingCodes(orderCodes));
+                return missing;
+            default:
+                return catalog.findMissing(orderCodes);
+        }
+    }
+
+    private Set<String> findMissingPerProduct() {
+        Set<String> missing = new HashSet<>();
+        for (String code : orderCodes) {
+            Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM product WHERE code = ?)", Boolean.class, code);
+            if (!Boolean.TRUE.equals(exists)) {
+                missing.add(code);
+            }
+        }
+        return missing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProductRepository productRepository() {
+        return (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(),
+                new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAllCodes":
+                            return jdbcTemplate.queryForList("SELECT code FROM product", String.class);
+                        case "findExistingCodes":
+                            return productCodeRepository.findExistingCodes((Collection<String>) args[0]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+        );
+    }
+}
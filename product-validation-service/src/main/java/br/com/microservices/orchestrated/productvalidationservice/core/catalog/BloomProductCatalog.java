@@ -0,0 +1,159 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.catalog;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.models.Product;
+import br.com.microservices.orchestrated.productvalidationservice.core.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product.catalog.mode", havingValue = "bloom")
+public class BloomProductCatalog implements ProductCatalog {
+
+    private final ProductRepository productRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final int pageSize;
+    private final int idOverlap;
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+    private final Counter rebuilds;
+    private final Counter refreshFailures;
+
+    private volatile BloomFilter filter;
+    private volatile long indexedProducts;
+    private int lastProductId;
+
+    public BloomProductCatalog(ProductRepository productRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${product.catalog.bloom.expected-insertions}") long expectedInsertions,
+                               @Value("${product.catalog.bloom.false-positive-probability}") double falsePositiveProbability,
+                               @Value("${product.catalog.bloom.page-size}") int pageSize,
+                               @Value("${product.catalog.bloom.id-overlap}") int idOverlap) {
+        this.productRepository = productRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.pageSize = pageSize;
+        this.idOverlap = idOverlap;
+        this.negatives = meterRegistry.counter("product.catalog.bloom.negatives");
+        this.positives = meterRegistry.counter("product.catalog.bloom.positives");
+        this.falsePositives = meterRegistry.counter("product.catalog.bloom.false.positives");
+        this.rebuilds = meterRegistry.counter("product.catalog.bloom.rebuilds");
+        this.refreshFailures = meterRegistry.counter("product.catalog.refresh.failures");
+        Gauge
+                .builder("product.catalog.size", this, catalog -> catalog.indexedProducts)
+                .register(meterRegistry);
+        Gauge
+                .builder("product.catalog.bloom.expected.fpp", this, catalog -> catalog.filter.expectedFalsePositiveProbability())
+                .register(meterRegistry);
+        Gauge
+                .builder("product.catalog.bloom.observed.fpp", this, BloomProductCatalog::observedFalsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        rebuildFilter();
+        log.info("Product bloom filter built with {} codes", indexedProducts);
+    }
+
+    @Scheduled(fixedDelayString = "${product.catalog.bloom.rebuild-interval-ms}", initialDelayString = "${product.catalog.bloom.rebuild-interval-ms}")
+    public void rebuild() {
+        try {
+            rebuildFilter();
+        } catch (RuntimeException ex) {
+            refreshFailures.increment();
+            log.error("Error trying to rebuild product bloom filter, keeping {} indexed codes", indexedProducts, ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.catalog.refresh-interval-ms}", initialDelayString = "${product.catalog.refresh-interval-ms}")
+    public void refresh() {
+        try {
+            indexNewProducts();
+        } catch (RuntimeException ex) {
+            refreshFailures.increment();
+            log.error("Error trying to refresh product bloom filter, indexed up to product {}", lastProductId, ex);
+        }
+    }
+
+    @Override
+    public Set<String> findMissing(Collection<String> codes) {
+        Set<String> missing = new HashSet<>();
+        Set<String> candidates = new HashSet<>();
+        for (String code : codes) {
+            if (filter.mightContain(code)) {
+                candidates.add(code);
+            } else {
+                missing.add(code);
+            }
+        }
+        negatives.increment(missing.size());
+        if (candidates.isEmpty()) {
+            return missing;
+        }
+        positives.increment(candidates.size());
+        Set<String> existing = productRepository.findExistingCodes(candidates);
+        candidates.removeAll(existing);
+        falsePositives.increment(candidates.size());
+        missing.addAll(candidates);
+        return missing;
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        int lastId = 0;
+        long products = 0;
+        List<Product> page;
+        do {
+            page = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(pageSize));
+            page.forEach(product -> rebuilt.put(product.getCode()));
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+                products += page.size();
+            }
+        } while (page.size() == pageSize);
+        filter = rebuilt;
+        indexedProducts = products;
+        lastProductId = lastId;
+        rebuilds.increment();
+    }
+
+    private synchronized void indexNewProducts() {
+        int lastId = Math.max(0, lastProductId - idOverlap);
+        List<Product> page;
+        do {
+            page = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(pageSize));
+            for (Product product : page) {
+                filter.put(product.getCode());
+                if (product.getId() > lastProductId) {
+                    lastProductId = product.getId();
+                    indexedProducts++;
+                }
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+    }
+
+    private double observedFalsePositiveRate() {
+        double absent = falsePositives.count() + negatives.count();
+        return absent == 0 ? 0 : falsePositives.count() / absent;
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.catalog;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ProductCatalog {
+
+    Set<String> findMissing(Collection<String> codes);
+}
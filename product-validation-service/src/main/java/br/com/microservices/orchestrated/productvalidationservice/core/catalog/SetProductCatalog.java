@@ -0,0 +1,75 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.catalog;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product.catalog.mode", havingValue = "set", matchIfMissing = true)
+public class SetProductCatalog implements ProductCatalog {
+
+    private final ProductRepository productRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+    private final Counter refreshFailures;
+
+    private volatile Set<String> codes = Set.of();
+
+    public SetProductCatalog(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.hits = meterRegistry.counter("product.catalog.hits");
+        this.misses = meterRegistry.counter("product.catalog.misses");
+        this.refreshes = meterRegistry.counter("product.catalog.refreshes");
+        this.refreshFailures = meterRegistry.counter("product.catalog.refresh.failures");
+        Gauge
+                .builder("product.catalog.size", this, catalog -> catalog.codes.size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        codes = Set.copyOf(productRepository.findAllCodes());
+        refreshes.increment();
+        log.info("Product catalog loaded with {} codes", codes.size());
+    }
+
+    @Scheduled(fixedDelayString = "${product.catalog.refresh-interval-ms}", initialDelayString = "${product.catalog.refresh-interval-ms}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            refreshFailures.increment();
+            log.error("Error trying to refresh product catalog, keeping {} cached codes", codes.size(), ex);
+        }
+    }
+
+    @Override
+    public Set<String> findMissing(Collection<String> requested) {
+        Set<String> snapshot = codes;
+        Set<String> unknown = new HashSet<>();
+        for (String code : requested) {
+            if (!snapshot.contains(code)) {
+                unknown.add(code);
+            }
+        }
+        hits.increment(requested.size() - unknown.size());
+        if (unknown.isEmpty()) {
+            return unknown;
+        }
+        misses.increment(unknown.size());
+        unknown.removeAll(productRepository.findExistingCodes(unknown));
+        return unknown;
+    }
+}
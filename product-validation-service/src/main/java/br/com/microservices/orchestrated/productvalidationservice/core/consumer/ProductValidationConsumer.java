@@ -1,14 +1,13 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.consumer;
 
-import br.com.microservices.orchestrated.productvalidationservice.core.dtos.Event;
 import br.com.microservices.orchestrated.productvalidationservice.core.services.ProductValidationService;
-import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 @AllArgsConstructor
 public class ProductValidationConsumer {
@@ -17,13 +16,15 @@ public class ProductValidationConsumer {
 
     private final JsonUtil jsonUtil;
 
+    private final HopLogger hopLogger;
+
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.product-validation-success}"
     )
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from product-validation-success topic", payload);
+    public void consumeSuccessEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("product-validation-success", event.getTransactionId(), payload);
         service.validateExistingProducts(event);
     }
 
@@ -31,9 +32,9 @@ public class ProductValidationConsumer {
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.product-validation-fail}"
     )
-    public void consumeFailEvent(String payload) {
-        log.info("Receiving rollback event {} from product-validation-fail topic", payload);
+    public void consumeFailEvent(byte[] payload) {
         Event event = jsonUtil.toEvent(payload);
+        hopLogger.logReceived("product-validation-fail", event.getTransactionId(), payload);
         service.rollbackEvent(event);
     }
 }
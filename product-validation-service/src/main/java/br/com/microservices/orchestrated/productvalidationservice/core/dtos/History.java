@@ -1,20 +0,0 @@
-package br.com.microservices.orchestrated.productvalidationservice.core.dtos;
-
-import br.com.microservices.orchestrated.productvalidationservice.core.enums.ESagaStatus;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class History {
-    private String source;
-    private ESagaStatus status;
-    private String message;
-    private LocalDateTime createdAt;
-}
@@ -1,7 +0,0 @@
-package br.com.microservices.orchestrated.productvalidationservice.core.enums;
-
-public enum ESagaStatus {
-    SUCCESS,
-    ROLLBACK_PENDING,
-    FAIL
-}
@@ -10,7 +10,10 @@ import javax.persistence.*;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "product")
+@Table(
+        name = "product",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_code", columnNames = "code")
+)
 public class Product {
 
     @Id
@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "validation")
+@Table(
+        name = "validation",
+        uniqueConstraints = @UniqueConstraint(name = "uk_validation_order_transaction", columnNames = {"order_id", "transaction_id"})
+)
 public class Validation {
 
     @Id
@@ -1,27 +1,38 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.producer;
 
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.sagacommons.core.utils.SagaHeaders;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final SagaProducerPipeline producerPipeline;
+
+    private final HopLogger hopLogger;
+
+    private final JsonUtil jsonUtil;
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
 
-    public void sendEvent(String payload) {
-        try {
-            log.info("Sending event to topic {} with data {}", orchestratorTopic, payload);
-            kafkaTemplate.send(orchestratorTopic, payload);
-        } catch (Exception exception) {
-            log.error("Error trying to send data to topic {} with data {}", orchestratorTopic, payload);
-        }
+    public void sendEvent(Event event) {
+        byte[] payload = jsonUtil.toBytes(event);
+        hopLogger.logSending(orchestratorTopic, event.getTransactionId(), payload);
+        var record = new ProducerRecord<>(orchestratorTopic, event.getTransactionId(), payload);
+        SagaHeaders.write(record.headers(), event);
+        producerPipeline
+                .send(record)
+                .addCallback(
+                        result -> { },
+                        exception -> hopLogger.logSendError(orchestratorTopic, event.getTransactionId(), payload, exception)
+                );
     }
 }
@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.repositories;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ProductCodeRepository {
+    Set<String> findExistingCodes(Collection<String> codes);
+}
@@ -0,0 +1,42 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.repositories;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@AllArgsConstructor
+public class ProductCodeRepositoryImpl implements ProductCodeRepository {
+
+    private static final int IN_LIST_LIMIT = 100;
+    private static final String SELECT_CODES_IN = "SELECT code FROM product WHERE code IN (:codes)";
+    private static final String SELECT_CODES_ANY = "SELECT code FROM product WHERE code = ANY(?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<String> findExistingCodes(Collection<String> codes) {
+        Set<String> existing = new HashSet<>(codes.size());
+        if (codes.isEmpty()) {
+            return existing;
+        }
+        if (codes.size() <= IN_LIST_LIMIT) {
+            jdbcTemplate.query(SELECT_CODES_IN, Map.of("codes", codes), row -> {
+                existing.add(row.getString("code"));
+            });
+            return existing;
+        }
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_CODES_ANY);
+            statement.setArray(1, connection.createArrayOf("text", codes.toArray()));
+            return statement;
+        }, row -> {
+            existing.add(row.getString("code"));
+        });
+        return existing;
+    }
+}
@@ -1,8 +1,16 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.repositories;
 
 import br.com.microservices.orchestrated.productvalidationservice.core.models.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface ProductRepository extends JpaRepository<Product, Integer> {
-    Boolean existsByCode(String code);
+import java.util.List;
+
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductCodeRepository {
+
+    @Query("SELECT p.code FROM Product p")
+    List<String> findAllCodes();
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
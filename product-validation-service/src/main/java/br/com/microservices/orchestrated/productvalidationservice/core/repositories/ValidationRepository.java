@@ -3,10 +3,5 @@ package br.com.microservices.orchestrated.productvalidationservice.core.reposito
 import br.com.microservices.orchestrated.productvalidationservice.core.models.Validation;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
-
 public interface ValidationRepository extends JpaRepository<Validation, Integer> {
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
-    Optional<Validation> findByOrderIdAndTransactionId(String orderId, String transactionId);
-
 }
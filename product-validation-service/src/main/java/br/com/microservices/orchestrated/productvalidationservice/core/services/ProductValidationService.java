@@ -1,20 +1,23 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.services;
 
 import br.com.microservices.orchestrated.productvalidationservice.config.exceptions.ValidationException;
-import br.com.microservices.orchestrated.productvalidationservice.core.dtos.Event;
-import br.com.microservices.orchestrated.productvalidationservice.core.dtos.History;
-import br.com.microservices.orchestrated.productvalidationservice.core.dtos.OrderProducts;
-import br.com.microservices.orchestrated.productvalidationservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.productvalidationservice.core.catalog.ProductCatalog;
 import br.com.microservices.orchestrated.productvalidationservice.core.models.Validation;
 import br.com.microservices.orchestrated.productvalidationservice.core.producer.KafkaProducer;
-import br.com.microservices.orchestrated.productvalidationservice.core.repositories.ProductRepository;
-import br.com.microservices.orchestrated.productvalidationservice.core.repositories.ValidationRepository;
-import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.productvalidationservice.core.writer.ValidationWriter;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.OrderProducts;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.sagacommons.core.idempotency.IdempotencyCache;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.springframework.util.ObjectUtils.isEmpty;
 
@@ -23,12 +26,13 @@ import static org.springframework.util.ObjectUtils.isEmpty;
 @AllArgsConstructor
 public class ProductValidationService {
 
-    private static final String CURRENT_SOURCE = "PRODUCT_VALIDATION_SERVICE";
+    private static final EEventSource CURRENT_SOURCE = EEventSource.PRODUCT_VALIDATION_SERVICE;
+    private static final String DUPLICATED_TRANSACTION_MESSAGE = "There are another transactionID for this validation";
 
-    private final JsonUtil jsonUtil;
     private final KafkaProducer producer;
-    private final ProductRepository productRepository;
-    private final ValidationRepository validationRepository;
+    private final ProductCatalog productCatalog;
+    private final ValidationWriter validationWriter;
+    private final IdempotencyCache idempotencyCache;
 
     public void validateExistingProducts(Event event) {
         try {
@@ -39,19 +43,22 @@ public class ProductValidationService {
             log.error("Error trying to validate products: " + ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
-        producer.sendEvent(jsonUtil.toJson(event));
+        producer.sendEvent(event);
     }
 
     private void checkCurrentValidation(Event event) {
         validateProductsInformed(event);
-        if (validationRepository.existsByOrderIdAndTransactionId(
-                event.getOrderId(), event.getTransactionId())) {
-            throw new ValidationException("There are another transactionID for this validation");
+        // Duplicates are caught by the idempotency cache only. A redelivery the cache no longer remembers is validated
+        // again, and the write-behind upsert folds it into the existing row instead of adding a second one.
+        if (idempotencyCache.contains(event.getPayload().getId(), event.getTransactionId())) {
+            throw new ValidationException(DUPLICATED_TRANSACTION_MESSAGE);
         }
+        Set<String> codes = new HashSet<>();
         event.getPayload().getProducts().forEach(product -> {
             validateProductInformed(product);
-            validateExistingProduct(product.getProduct().getCode());
+            codes.add(product.getProduct().getCode());
         });
+        validateExistingProducts(codes);
     }
 
     private void validateProductInformed(OrderProducts product) {
@@ -60,9 +67,10 @@ public class ProductValidationService {
         }
     }
 
-    private void validateExistingProduct(String code) {
-        if(!productRepository.existsByCode(code)) {
-            throw new ValidationException("Product does not exists in database");
+    private void validateExistingProducts(Set<String> codes) {
+        Set<String> missing = productCatalog.findMissing(codes);
+        if (!missing.isEmpty()) {
+            throw new ValidationException("Product does not exists in database: ".concat(String.join(", ", missing)));
         }
     }
 
@@ -82,7 +90,8 @@ public class ProductValidationService {
                 .transactionId(event.getTransactionId())
                 .success(success)
                 .build();
-        validationRepository.save(validation);
+        validationWriter.write(validation);
+        idempotencyCache.record(validation.getOrderId(), validation.getTransactionId());
     }
 
     private void handleSuccess(Event event) {
@@ -113,18 +122,10 @@ public class ProductValidationService {
         event.setStatus(ESagaStatus.FAIL);
         event.setSource(CURRENT_SOURCE);
         addHistory(event, "Rollback executed on product validation!");
-        producer.sendEvent(jsonUtil.toJson(event));
+        producer.sendEvent(event);
     }
 
     private void changeValidationToFail(Event event) {
-        validationRepository
-                .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
-                .ifPresentOrElse(validation -> {
-                    validation.setSuccess(false);
-                    validationRepository.save(validation);
-                },
-                () -> {
-                    createValidation(event, false);
-                });
+        createValidation(event, false);
     }
 }
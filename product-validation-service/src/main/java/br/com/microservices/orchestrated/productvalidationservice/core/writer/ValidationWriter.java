@@ -0,0 +1,130 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.writer;
+
+import br.com.microservices.orchestrated.productvalidationservice.config.exceptions.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.models.Validation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ValidationWriter {
+
+    private static final String UPSERT_VALIDATION =
+            "INSERT INTO validation (order_id, transaction_id, success, created_at, updated_at) VALUES (?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (order_id, transaction_id)"
+                    + " DO UPDATE SET success = validation.success AND EXCLUDED.success, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Validation> queue;
+    private final List<Validation> failed = new ArrayList<>();
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Counter failures;
+
+    public ValidationWriter(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${product.validation.writer.queue-size}") int queueSize,
+                            @Value("${product.validation.writer.batch-size}") int batchSize,
+                            @Value("${product.validation.writer.flush-interval-ms}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.failures = meterRegistry.counter("product.validation.writer.failures");
+        Gauge
+                .builder("product.validation.writer.pending", this, ValidationWriter::pending)
+                .register(meterRegistry);
+    }
+
+    public void write(Validation validation) {
+        LocalDateTime now = LocalDateTime.now();
+        validation.setCreatedAt(now);
+        validation.setUpdatedAt(now);
+        try {
+            while (!queue.offer(validation, flushIntervalMillis, TimeUnit.MILLISECONDS)) {
+                flush();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException("Interrupted while queueing the validation of transaction ".concat(validation.getTransactionId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.validation.writer.flush-interval-ms}")
+    public synchronized void flush() {
+        if (!failed.isEmpty()) {
+            if (!writeBatch(failed)) {
+                return;
+            }
+            failed.clear();
+        }
+        List<Validation> drained = new ArrayList<>(batchSize);
+        while (queue.drainTo(drained, batchSize) > 0) {
+            List<Validation> batch = new ArrayList<>(coalesce(drained).values());
+            drained.clear();
+            if (!writeBatch(batch)) {
+                failed.addAll(batch);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Map<String, Validation> coalesce(List<Validation> validations) {
+        Map<String, Validation> coalesced = new LinkedHashMap<>();
+        validations.forEach(validation -> coalesced.merge(
+                validation.getOrderId() + ':' + validation.getTransactionId(),
+                validation,
+                (previous, current) -> {
+                    previous.setSuccess(previous.isSuccess() && current.isSuccess());
+                    previous.setUpdatedAt(current.getUpdatedAt());
+                    return previous;
+                }
+        ));
+        return coalesced;
+    }
+
+    private boolean writeBatch(List<Validation> validations) {
+        List<Object[]> rows = new ArrayList<>(validations.size());
+        validations.forEach(validation -> rows.add(new Object[]{
+                validation.getOrderId(),
+                validation.getTransactionId(),
+                validation.isSuccess(),
+                Timestamp.valueOf(validation.getCreatedAt()),
+                Timestamp.valueOf(validation.getUpdatedAt())
+        }));
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_VALIDATION, rows);
+            return true;
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.error("Error trying to write {} validations, retrying on the next flush", rows.size(), ex);
+            return false;
+        }
+    }
+
+    private double pending() {
+        return queue.size() + failed.size();
+    }
+}
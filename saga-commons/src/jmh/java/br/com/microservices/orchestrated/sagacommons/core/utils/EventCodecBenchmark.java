@@ -0,0 +1,119 @@
+package br.com.microservices.orchestrated.sagacommons.core.utils;
+
+import br.com.microservices.orchestrated.sagacommons.config.SagaCommonsAutoConfiguration;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.History;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Order;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.OrderProducts;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Product;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saga event encode and decode cost for the JSON and Smile wire formats, using the mappers the auto-configuration
+ * builds. The history grows by one entry per hop, so its length stands in for how far the saga has gone.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EventCodecBenchmark {
+
+    @Param({"json", "smile"})
+    private String wireFormat;
+
+    @Param({"1", "10", "50"})
+    private int historyEntries;
+
+    private JsonUtil jsonUtil;
+    private Event event;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jsonUtil = new SagaCommonsAutoConfiguration().jsonUtil(Jackson2ObjectMapperBuilder.json(), wireFormat);
+        event = event(historyEntries);
+        payload = jsonUtil.toBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return jsonUtil.toBytes(event);
+    }
+
+    @Benchmark
+    public Event decode() {
+        return jsonUtil.toEvent(payload);
+    }
+
+    @Benchmark
+    public byte[] roundTrip(PayloadSize size) {
+        byte[] bytes = jsonUtil.toBytes(jsonUtil.toEvent(payload));
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSize {
+
+        public long bytes;
+    }
+
+    private static Event event(int historyEntries) {
+        List<History> history = new ArrayList<>(historyEntries);
+        for (int index = 0; index < historyEntries; index++) {
+            history.add(History
+                    .builder()
+                    .source(EEventSource.values()[index % EEventSource.values().length])
+                    .status(ESagaStatus.SUCCESS)
+                    .message("Products are validated successfully!")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        List<OrderProducts> products = List.of(
+                new OrderProducts(new Product("COMIC_BOOKS", 15.50), 3),
+                new OrderProducts(new Product("BOOKS", 9.90), 1)
+        );
+        return Event
+                .builder()
+                .id("64429e987a8b646915b3735f")
+                .transactionId("1715196329447_2a0da8c9-a4ed-4ad6-9d3c-3c6e8b0e5f21")
+                .orderId("64429e977a8b646915b3735e")
+                .payload(Order
+                        .builder()
+                        .id("64429e977a8b646915b3735e")
+                        .products(products)
+                        .createdAt(LocalDateTime.now())
+                        .transactionId("1715196329447_2a0da8c9-a4ed-4ad6-9d3c-3c6e8b0e5f21")
+                        .totalAmount(56.40)
+                        .totalItems(4)
+                        .build())
+                .source(EEventSource.PAYMENT_SERVICE)
+                .status(ESagaStatus.SUCCESS)
+                .eventHistory(history)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.microservices.orchestrated.sagacommons.config;
+
+import br.com.microservices.orchestrated.sagacommons.core.idempotency.IdempotencyCache;
+import br.com.microservices.orchestrated.sagacommons.core.producer.SagaProducerPipeline;
+import br.com.microservices.orchestrated.sagacommons.core.utils.HopLogger;
+import br.com.microservices.orchestrated.sagacommons.core.utils.JsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+
+@AutoConfiguration(after = {JacksonAutoConfiguration.class, KafkaAutoConfiguration.class})
+public class SagaCommonsAutoConfiguration {
+
+    private static final String SMILE_FORMAT = "smile";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JsonUtil jsonUtil(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                             @Value("${saga.wire-format:json}") String wireFormat) {
+        ObjectMapper jsonMapper = objectMapperBuilder.build();
+        ObjectMapper smileMapper = objectMapperBuilder
+                .factory(new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES))
+                .build();
+        jsonMapper.registerModule(new BlackbirdModule());
+        smileMapper.registerModule(new BlackbirdModule());
+        return new JsonUtil(jsonMapper, smileMapper, SMILE_FORMAT.equalsIgnoreCase(wireFormat));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(KafkaTemplate.class)
+    public SagaProducerPipeline sagaProducerPipeline(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                                     @Value("${spring.kafka.producer.max-in-flight:1000}") int maxInFlight,
+                                                     @Value("${spring.kafka.producer.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        return new SagaProducerPipeline(
+                kafkaTemplate,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                maxInFlight,
+                acquireTimeoutMillis
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HopLogger hopLogger(@Value("${logging.hop.sample-rate:0.1}") double sampleRate,
+                               @Value("${logging.hop.max-payload-length:512}") int maxPayloadLength) {
+        return new HopLogger(sampleRate, maxPayloadLength);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdempotencyCache idempotencyCache(@Value("${saga.idempotency.max-entries:100000}") int maxEntries,
+                                             @Value("${saga.idempotency.ttl-ms:600000}") long ttlMillis) {
+        return new IdempotencyCache(maxEntries, ttlMillis);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.sagacommons.config.exception;
+
+public class SerializationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -1,4 +1,4 @@
-package br.com.microservices.orchestrated.paymentservice.core.dtos;
+package br.com.microservices.orchestrated.sagacommons.core.dtos;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
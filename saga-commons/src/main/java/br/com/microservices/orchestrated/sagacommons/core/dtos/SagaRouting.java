@@ -0,0 +1,19 @@
+package br.com.microservices.orchestrated.sagacommons.core.dtos;
+
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SagaRouting {
+
+    public static final int UNKNOWN_HISTORY_SIZE = -1;
+
+    private final String transactionId;
+    private final String orderId;
+    private final EEventSource source;
+    private final ESagaStatus status;
+    private final int historySize;
+}
@@ -0,0 +1,30 @@
+package br.com.microservices.orchestrated.sagacommons.core.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public enum EProducerProfile {
+
+    LATENCY(0, 16_384, "none"),
+    BALANCED(5, 65_536, "lz4"),
+    THROUGHPUT(20, 262_144, "zstd");
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+
+    public void applyTo(Map<String, Object> props) {
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    }
+
+    public static EProducerProfile of(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.microservices.orchestrated.sagacommons.core.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class IdempotencyCache {
+
+    private static final char KEY_SEPARATOR = ':';
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>();
+
+    public IdempotencyCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public synchronized boolean contains(String orderId, String transactionId) {
+        evictExpired(System.nanoTime());
+        return entries.containsKey(key(orderId, transactionId));
+    }
+
+    public synchronized void record(String orderId, String transactionId) {
+        long now = System.nanoTime();
+        evictExpired(now);
+        String key = key(orderId, transactionId);
+        entries.remove(key);
+        entries.put(key, now);
+        Iterator<String> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() < ttlNanos) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private static String key(String orderId, String transactionId) {
+        return orderId + KEY_SEPARATOR + transactionId;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.microservices.orchestrated.sagacommons.core.producer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class SagaProducerPipeline {
+
+    private static final String ACKNOWLEDGED_METRIC = "saga.producer.acknowledged";
+    private static final String FAILED_METRIC = "saga.producer.failed";
+    private static final String IN_FLIGHT_METRIC = "saga.producer.in.flight";
+    private static final String TOPIC_TAG = "topic";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore window;
+    private final long acquireTimeoutMillis;
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    public SagaProducerPipeline(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                MeterRegistry meterRegistry,
+                                int maxInFlight,
+                                long acquireTimeoutMillis) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.window = new Semaphore(maxInFlight);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        Gauge
+                .builder(IN_FLIGHT_METRIC, window, permits -> maxInFlight - permits.availablePermits())
+                .register(meterRegistry);
+    }
+
+    public ListenableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+        TopicMeters meters = topicMeters.computeIfAbsent(record.topic(), TopicMeters::new);
+        acquire(record.topic());
+        long startedAt = System.nanoTime();
+        ListenableFuture<SendResult<String, byte[]>> future;
+        try {
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException exception) {
+            window.release();
+            meters.failed.increment();
+            throw exception;
+        }
+        future.addCallback(
+                result -> {
+                    window.release();
+                    meters.acknowledged.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                },
+                exception -> {
+                    window.release();
+                    meters.failed.increment();
+                }
+        );
+        return future;
+    }
+
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    private void acquire(String topic) {
+        try {
+            if (!window.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new KafkaException(String.format("Timed out waiting for an in-flight slot to send to topic %s", topic));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException(String.format("Interrupted while waiting to send to topic %s", topic), exception);
+        }
+    }
+
+    private class TopicMeters {
+        private final Timer acknowledged;
+        private final Counter failed;
+
+        private TopicMeters(String topic) {
+            this.acknowledged = meterRegistry.timer(ACKNOWLEDGED_METRIC, TOPIC_TAG, topic);
+            this.failed = meterRegistry.counter(FAILED_METRIC, TOPIC_TAG, topic);
+        }
+    }
+}
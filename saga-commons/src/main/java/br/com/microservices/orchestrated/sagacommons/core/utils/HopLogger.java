@@ -0,0 +1,63 @@
+package br.com.microservices.orchestrated.sagacommons.core.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+public class HopLogger {
+    private static final int SAMPLE_BUCKETS = 10_000;
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 4;
+    private static final String TRUNCATED_SUFFIX = "... (%d bytes)";
+    private static final String SMILE_PAYLOAD = "[smile payload, %d bytes]";
+
+    private final int sampleThreshold;
+    private final int maxPayloadLength;
+
+    public HopLogger(double sampleRate, int maxPayloadLength) {
+        this.sampleThreshold = (int) Math.round(Math.max(0.0, Math.min(1.0, sampleRate)) * SAMPLE_BUCKETS);
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    public void logReceived(String topic, String transactionId, byte[] payload) {
+        if (log.isInfoEnabled() && isSampled(transactionId)) {
+            log.info("Receiving event {} from {} topic", truncate(payload), topic);
+        }
+    }
+
+    public void logSending(String topic, String transactionId, byte[] payload) {
+        if (log.isInfoEnabled() && isSampled(transactionId)) {
+            log.info("Sending event to topic {} with data {}", topic, truncate(payload));
+        }
+    }
+
+    public void logSendError(String topic, String transactionId, byte[] payload, Throwable exception) {
+        log.error("Error trying to send data to topic {} for transaction {} with data {}", topic, transactionId, truncate(payload), exception);
+    }
+
+    public boolean isSampled(String transactionId) {
+        if (transactionId == null) {
+            return true;
+        }
+        return Math.floorMod(transactionId.hashCode(), SAMPLE_BUCKETS) < sampleThreshold;
+    }
+
+    private String truncate(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        if (JsonUtil.isSmile(payload)) {
+            return String.format(SMILE_PAYLOAD, payload.length);
+        }
+        int prefixLength = (int) Math.min(payload.length, (long) maxPayloadLength * MAX_UTF8_BYTES_PER_CHAR + MAX_UTF8_BYTES_PER_CHAR - 1);
+        String text = new String(payload, 0, prefixLength, StandardCharsets.UTF_8);
+        if (prefixLength == payload.length && text.length() <= maxPayloadLength) {
+            return text;
+        }
+        int end = Math.min(text.length(), maxPayloadLength);
+        if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end).concat(String.format(TRUNCATED_SUFFIX, payload.length));
+    }
+}
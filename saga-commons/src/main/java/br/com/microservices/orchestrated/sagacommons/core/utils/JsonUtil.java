@@ -0,0 +1,57 @@
+package br.com.microservices.orchestrated.sagacommons.core.utils;
+
+import br.com.microservices.orchestrated.sagacommons.config.exception.SerializationException;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+
+public class JsonUtil {
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectReader jsonEventReader;
+    private final ObjectReader smileEventReader;
+    private final ObjectWriter writer;
+
+    public JsonUtil(ObjectMapper jsonMapper, ObjectMapper smileMapper, boolean smile) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = smileMapper;
+        this.jsonEventReader = jsonMapper.readerFor(Event.class);
+        this.smileEventReader = smileMapper.readerFor(Event.class);
+        this.writer = smile ? smileMapper.writer() : jsonMapper.writer();
+    }
+
+    public byte[] toBytes(Object object) {
+        try {
+            return writer.writeValueAsBytes(object);
+        } catch (Exception exception) {
+            throw new SerializationException("Error trying to serialize ".concat(object.getClass().getSimpleName()), exception);
+        }
+    }
+
+    public Event toEvent(byte[] payload) {
+        try {
+            return isSmile(payload) ? smileEventReader.readValue(payload) : jsonEventReader.readValue(payload);
+        } catch (Exception exception) {
+            throw new SerializationException("Error trying to deserialize saga event", exception);
+        }
+    }
+
+    public <T> T toObject(byte[] payload, Class<T> type) {
+        try {
+            return isSmile(payload) ? smileMapper.readValue(payload, type) : jsonMapper.readValue(payload, type);
+        } catch (Exception exception) {
+            throw new SerializationException("Error trying to deserialize ".concat(type.getSimpleName()), exception);
+        }
+    }
+
+    public static boolean isSmile(byte[] payload) {
+        return payload != null
+                && payload.length >= 3
+                && payload[0] == SmileConstants.HEADER_BYTE_1
+                && payload[1] == SmileConstants.HEADER_BYTE_2
+                && payload[2] == SmileConstants.HEADER_BYTE_3;
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.microservices.orchestrated.sagacommons.core.utils;
+
+import br.com.microservices.orchestrated.sagacommons.core.dtos.Event;
+import br.com.microservices.orchestrated.sagacommons.core.dtos.SagaRouting;
+import br.com.microservices.orchestrated.sagacommons.core.enums.EEventSource;
+import br.com.microservices.orchestrated.sagacommons.core.enums.ESagaStatus;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+public final class SagaHeaders {
+
+    public static final String SOURCE = "saga-source";
+    public static final String STATUS = "saga-status";
+    public static final String TRANSACTION_ID = "saga-transaction-id";
+    public static final String ORDER_ID = "saga-order-id";
+    public static final String HISTORY_SIZE = "saga-history-size";
+
+    private SagaHeaders() {
+
+    }
+
+    public static void write(Headers headers, Event event) {
+        int historySize = event.getEventHistory() == null ? 0 : event.getEventHistory().size();
+        write(headers, event.getTransactionId(), event.getOrderId(), event.getSource(), event.getStatus(), historySize);
+    }
+
+    public static void write(Headers headers, String transactionId, String orderId, EEventSource source, ESagaStatus status, int historySize) {
+        headers
+                .add(TRANSACTION_ID, transactionId.getBytes(StandardCharsets.UTF_8))
+                .add(SOURCE, source.name().getBytes(StandardCharsets.UTF_8))
+                .add(STATUS, status.name().getBytes(StandardCharsets.UTF_8))
+                .add(HISTORY_SIZE, Integer.toString(historySize).getBytes(StandardCharsets.UTF_8));
+        if (orderId != null) {
+            headers.add(ORDER_ID, orderId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public static void clear(Headers headers) {
+        headers
+                .remove(TRANSACTION_ID)
+                .remove(SOURCE)
+                .remove(STATUS)
+                .remove(ORDER_ID)
+                .remove(HISTORY_SIZE);
+    }
+
+    public static SagaRouting read(Headers headers) {
+        String transactionId = value(headers, TRANSACTION_ID);
+        String source = value(headers, SOURCE);
+        String status = value(headers, STATUS);
+        if (transactionId == null || source == null || status == null) {
+            return null;
+        }
+        try {
+            return new SagaRouting(transactionId, value(headers, ORDER_ID), EEventSource.valueOf(source), ESagaStatus.valueOf(status), historySize(headers));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static int historySize(Headers headers) {
+        String historySize = value(headers, HISTORY_SIZE);
+        if (historySize == null) {
+            return SagaRouting.UNKNOWN_HISTORY_SIZE;
+        }
+        try {
+            return Integer.parseInt(historySize);
+        } catch (NumberFormatException ex) {
+            return SagaRouting.UNKNOWN_HISTORY_SIZE;
+        }
+    }
+
+    private static String value(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}